@@ -0,0 +1,36 @@
+// vite build 결과물 중 해시가 붙은 assets 를 미리 압축해 둔다.
+// 서버는 Accept-Encoding 에 따라 .br, .gz 파일을 그대로 내려준다.
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib'
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs'
+import { extname, join } from 'node:path'
+import { fileURLToPath, URL } from 'node:url'
+
+const assetsDir = fileURLToPath(new URL('../dist/assets', import.meta.url))
+const extensions = new Set(['.js', '.css', '.html', '.svg', '.json', '.map', '.txt'])
+const minSize = 1024
+
+function walk(dir) {
+  return readdirSync(dir).flatMap((name) => {
+    const path = join(dir, name)
+    return statSync(path).isDirectory() ? walk(path) : [path]
+  })
+}
+
+for (const file of walk(assetsDir)) {
+  if (!extensions.has(extname(file))) continue
+
+  const source = readFileSync(file)
+  if (source.length < minSize) continue
+
+  const br = brotliCompressSync(source, {
+    params: {
+      [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+      [constants.BROTLI_PARAM_SIZE_HINT]: source.length
+    }
+  })
+  const gz = gzipSync(source, { level: constants.Z_BEST_COMPRESSION })
+
+  // 압축해도 작아지지 않으면 원본만 둔다.
+  if (br.length < source.length) writeFileSync(`${file}.br`, br)
+  if (gz.length < source.length) writeFileSync(`${file}.gz`, gz)
+}
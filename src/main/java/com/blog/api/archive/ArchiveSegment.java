@@ -0,0 +1,395 @@
+package com.blog.api.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 한 번 쓰면 바뀌지 않는 보관 파일 하나
+ *
+ * | int magic | int version | block ... | index | long indexOffset | int magic |
+ *
+ * block: 글 레코드를 BLOCK_SIZE 정도씩 모아 Deflate 로 압축한 것
+ * index: | int blockCount | (long offset, int compressed, int raw) ... |
+ *        | int recordCount | (long id, int block, int position, short tagCount, tag ...) ... |
+ *
+ * 인덱스는 ID 오름차순이고 열 때 메모리에 올려 두므로, 글 하나를 읽을 때는
+ * 이진 탐색 후 블록 하나만 읽어 압축을 푼다.
+ */
+class ArchiveSegment implements Closeable {
+
+    static final String SUFFIX = ".arc";
+
+    private static final int MAGIC = 0x424c4741; // "BLGA"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final long NULL_VERSION = -1L;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private final Path path;
+    private final FileChannel channel;
+
+    private final long[] blockOffsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+
+    private final long[] ids;
+    private final int[] blocks;
+    private final int[] positions;
+    private final List<Set<String>> tags;
+
+    // 같은 블록을 이어서 읽는 경우가 많아 마지막으로 푼 블록 하나만 들고 있는다.
+    private volatile DecodedBlock lastBlock;
+
+    private ArchiveSegment(Path path, FileChannel channel, DataInputStream index) throws IOException {
+        this.path = path;
+        this.channel = channel;
+
+        int blockCount = index.readInt();
+        blockOffsets = new long[blockCount];
+        compressedLengths = new int[blockCount];
+        rawLengths = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            blockOffsets[i] = index.readLong();
+            compressedLengths[i] = index.readInt();
+            rawLengths[i] = index.readInt();
+        }
+
+        int recordCount = index.readInt();
+        ids = new long[recordCount];
+        blocks = new int[recordCount];
+        positions = new int[recordCount];
+        tags = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            ids[i] = index.readLong();
+            blocks[i] = index.readInt();
+            positions[i] = index.readInt();
+            int tagCount = index.readShort();
+            Set<String> postTags = new LinkedHashSet<>(tagCount);
+            for (int t = 0; t < tagCount; t++) {
+                postTags.add(index.readUTF());
+            }
+            tags.add(Set.copyOf(postTags));
+        }
+    }
+
+    /**
+     * posts 는 ID 오름차순이어야 한다.
+     * 임시 파일에 다 쓰고 fsync 한 뒤 이름을 바꾸므로 반쯤 쓰인 세그먼트는 보이지 않는다.
+     * 이름 바꾸기도 디렉토리를 fsync 해야 남으므로, 돌아온 뒤에는 DB 에서 지워도 된다.
+     */
+    static void write(Path path, List<ArchivedPost> posts) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        List<long[]> blockEntries = new ArrayList<>();
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(BLOCK_SIZE * 2);
+            DataOutputStream rawOut = new DataOutputStream(raw);
+            List<ArchivedPost> pending = new ArrayList<>();
+            List<Integer> pendingPositions = new ArrayList<>();
+
+            for (int i = 0; i < posts.size(); i++) {
+                ArchivedPost post = posts.get(i);
+                if (i > 0 && post.getId() <= posts.get(i - 1).getId()) {
+                    throw new IllegalArgumentException("posts must be sorted by id");
+                }
+
+                pendingPositions.add(raw.size());
+                pending.add(post);
+                writeRecord(rawOut, post);
+
+                if (raw.size() >= BLOCK_SIZE || i == posts.size() - 1) {
+                    int blockNo = blockEntries.size();
+                    byte[] compressed = deflate(raw.toByteArray());
+                    blockEntries.add(new long[]{out.size(), compressed.length, raw.size()});
+                    out.write(compressed);
+
+                    for (int p = 0; p < pending.size(); p++) {
+                        ArchivedPost entry = pending.get(p);
+                        indexOut.writeLong(entry.getId());
+                        indexOut.writeInt(blockNo);
+                        indexOut.writeInt(pendingPositions.get(p));
+                        indexOut.writeShort(entry.getTags().size());
+                        for (String tag : entry.getTags()) {
+                            indexOut.writeUTF(tag);
+                        }
+                    }
+                    raw.reset();
+                    pending.clear();
+                    pendingPositions.clear();
+                }
+            }
+
+            long indexOffset = out.size();
+            out.writeInt(blockEntries.size());
+            for (long[] block : blockEntries) {
+                out.writeLong(block[0]);
+                out.writeInt((int) block[1]);
+                out.writeInt((int) block[2]);
+            }
+            out.writeInt(posts.size());
+            indexOut.flush();
+            index.writeTo(out);
+
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+            out.flush();
+            file.getFD().sync();
+        }
+
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(path.toAbsolutePath().getParent());
+    }
+
+    // 디렉토리를 열 수 없는 플랫폼(Windows)에서는 건너뛴다.
+    private static void syncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    static ArchiveSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < Integer.BYTES * 2 + FOOTER_SIZE) {
+                throw corrupted(path);
+            }
+
+            ByteBuffer footer = readFully(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            if (footer.getInt() != MAGIC || indexOffset < 0 || indexOffset > size - FOOTER_SIZE) {
+                throw corrupted(path);
+            }
+
+            ByteBuffer index = readFully(channel, indexOffset, (int) (size - FOOTER_SIZE - indexOffset));
+            return new ArchiveSegment(path, channel,
+                    new DataInputStream(new ByteArrayInputStream(index.array())));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    ArchivedPost find(long id) throws IOException {
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) {
+            return null;
+        }
+
+        byte[] raw = block(blocks[i]);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw, positions[i], raw.length - positions[i]));
+        return readRecord(in, tags.get(i));
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    void forEachTags(BiConsumer<Long, Set<String>> consumer) {
+        for (int i = 0; i < ids.length; i++) {
+            consumer.accept(ids[i], tags.get(i));
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long idAt(int i) {
+        return ids[i];
+    }
+
+    long getMinId() {
+        return ids.length == 0 ? Long.MAX_VALUE : ids[0];
+    }
+
+    long getMaxId() {
+        return ids.length == 0 ? Long.MIN_VALUE : ids[ids.length - 1];
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] block(int blockNo) throws IOException {
+        DecodedBlock cached = lastBlock;
+        if (cached != null && cached.blockNo == blockNo) {
+            return cached.raw;
+        }
+
+        ByteBuffer compressed = readFully(channel, blockOffsets[blockNo], compressedLengths[blockNo]);
+        byte[] raw = inflate(compressed.array(), rawLengths[blockNo]);
+        lastBlock = new DecodedBlock(blockNo, raw);
+        return raw;
+    }
+
+    private static void writeRecord(DataOutputStream out, ArchivedPost post) throws IOException {
+        out.writeLong(post.getId());
+        out.writeLong(post.getVersion() == null ? NULL_VERSION : post.getVersion());
+        writeString(out, post.getTitle());
+        writeString(out, post.getContent());
+        writeTime(out, post.getCreatedAt());
+        writeTime(out, post.getUpdatedAt());
+    }
+
+    private static ArchivedPost readRecord(DataInputStream in, Set<String> tags) throws IOException {
+        long id = in.readLong();
+        long version = in.readLong();
+        return ArchivedPost.builder()
+                .id(id)
+                .version(version == NULL_VERSION ? null : version)
+                .title(readString(in))
+                .content(readString(in))
+                .createdAt(readTime(in))
+                .updatedAt(readTime(in))
+                .tags(tags)
+                .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        if (time == null) {
+            out.writeLong(NULL_TIME);
+            return;
+        }
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        if (seconds == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw corrupted(path);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("corrupted archive block. path=" + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static IOException corrupted(Path path) {
+        return new IOException("corrupted archive segment. path=" + path);
+    }
+
+    private static class DecodedBlock {
+        private final int blockNo;
+        private final byte[] raw;
+
+        private DecodedBlock(int blockNo, byte[] raw) {
+            this.blockNo = blockNo;
+            this.raw = raw;
+        }
+    }
+}
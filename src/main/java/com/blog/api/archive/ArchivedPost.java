@@ -0,0 +1,36 @@
+package com.blog.api.archive;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 보관 세그먼트에 들어 있는 글
+ */
+@Getter
+@ToString(exclude = "content")
+public class ArchivedPost {
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final Long version;
+    private final Set<String> tags;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    @Builder
+    public ArchivedPost(Long id, String title, String content, Long version, Set<String> tags,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.version = version;
+        this.tags = tags != null ? Set.copyOf(tags) : Set.of();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,229 @@
+package com.blog.api.archive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 오래된 글을 보관하는 디스크 계층
+ *
+ * 디렉토리 안에 "{첫 ID}.arc" 세그먼트를 만들고 한 번 쓴 세그먼트는 다시 쓰지 않는다.
+ * 보관된 글을 삭제하면 세그먼트를 고치는 대신 "tombstones" 파일에 ID 를 추가한다.
+ *
+ * 보관 중 수정된 글이 다음 실행에서 다시 보관되면 같은 ID 가 여러 세그먼트에 들어간다.
+ * 그런 ID 는 버전이 가장 높은 쪽을 읽도록 latest 에 따로 적어 둔다.
+ */
+@Slf4j
+public class PostArchive implements AutoCloseable {
+
+    private static final String TOMBSTONES = "tombstones";
+    private static final String TEMP_SUFFIX = ArchiveSegment.SUFFIX + ".tmp";
+
+    private final Path directory;
+    private final boolean fsync;
+
+    // 최근 세그먼트부터 찾도록 첫 ID 내림차순으로 둔다.
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final Set<Long> tombstones = ConcurrentHashMap.newKeySet();
+    // 여러 세그먼트에 있는 ID → 버전이 가장 높은 세그먼트
+    private final Map<Long, ArchiveSegment> latest = new ConcurrentHashMap<>();
+
+    public PostArchive(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+
+        try {
+            Files.createDirectories(directory);
+            List<Path> paths;
+            try (Stream<Path> files = Files.list(directory)) {
+                paths = files.collect(Collectors.toList());
+            }
+            for (Path path : paths) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(ArchiveSegment.SUFFIX)) {
+                    segments.add(ArchiveSegment.open(path));
+                } else if (name.endsWith(TEMP_SUFFIX)) {
+                    // 세그먼트를 쓰다가 멈춘 경우, 이름을 바꾸기 전이므로 DB 에는 글이 남아 있다.
+                    Files.delete(path);
+                    log.warn("unfinished archive segment deleted. path={}", path);
+                }
+            }
+            segments.sort(Comparator.comparingLong(ArchiveSegment::getMinId).reversed());
+            for (ArchiveSegment segment : segments) {
+                resolveDuplicates(segment);
+            }
+            loadTombstones();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("post archive opened. directory={}, segments={}, tombstones={}",
+                directory, segments.size(), tombstones.size());
+    }
+
+    /**
+     * posts 를 새 세그먼트 하나로 쓴다. posts 는 ID 오름차순이어야 한다.
+     */
+    public synchronized void add(List<ArchivedPost> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        Path path = directory.resolve(String.format("%020d%s", posts.get(0).getId(), ArchiveSegment.SUFFIX));
+        try {
+            if (Files.exists(path)) {
+                // 이전 실행에서 세그먼트는 썼지만 DB 에서 지우기 전에 멈춘 경우
+                path = directory.resolve(String.format("%020d-%d%s",
+                        posts.get(0).getId(), System.currentTimeMillis(), ArchiveSegment.SUFFIX));
+            }
+            ArchiveSegment.write(path, posts);
+
+            ArchiveSegment segment = ArchiveSegment.open(path);
+            resolveDuplicates(segment);
+            segments.add(segment);
+            segments.sort(Comparator.comparingLong(ArchiveSegment::getMinId).reversed());
+            log.info("archive segment written. path={}, posts={}", path, segment.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Optional<ArchivedPost> find(Long id) {
+        if (id == null || tombstones.contains(id)) {
+            return Optional.empty();
+        }
+
+        try {
+            ArchiveSegment owner = latest.get(id);
+            if (owner != null) {
+                return Optional.ofNullable(owner.find(id));
+            }
+            for (ArchiveSegment segment : segments) {
+                if (id < segment.getMinId() || id > segment.getMaxId()) {
+                    continue;
+                }
+                ArchivedPost post = segment.find(id);
+                if (post != null) {
+                    return Optional.of(post);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.empty();
+    }
+
+    public boolean contains(Long id) {
+        if (id == null || tombstones.contains(id)) {
+            return false;
+        }
+        return segments.stream().anyMatch(segment -> segment.contains(id));
+    }
+
+    /**
+     * @return 보관된 글이 아니면 false
+     */
+    public synchronized boolean delete(Long id) {
+        if (!contains(id)) {
+            return false;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(directory.resolve(TOMBSTONES),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                fsync ? StandardOpenOption.SYNC : StandardOpenOption.WRITE))) {
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        tombstones.add(id);
+        return true;
+    }
+
+    /**
+     * 삭제되지 않은 보관 글의 ID 와 태그를 넘긴다.
+     */
+    public void forEachTags(BiConsumer<Long, Set<String>> consumer) {
+        for (ArchiveSegment segment : segments) {
+            segment.forEachTags((id, tags) -> {
+                ArchiveSegment owner = latest.get(id);
+                if (!tombstones.contains(id) && (owner == null || owner == segment)) {
+                    consumer.accept(id, tags);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ArchiveSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    /**
+     * added 의 ID 가 다른 세그먼트에도 있으면 버전이 높은 쪽을 latest 에 적는다.
+     * 세그먼트의 ID 범위가 겹칠 때만 글을 읽으므로 보통은 비용이 없다.
+     */
+    private void resolveDuplicates(ArchiveSegment added) throws IOException {
+        for (ArchiveSegment other : segments) {
+            if (other == added || other.getMaxId() < added.getMinId() || other.getMinId() > added.getMaxId()) {
+                continue;
+            }
+            for (int i = 0; i < added.size(); i++) {
+                long id = added.idAt(i);
+                if (!other.contains(id)) {
+                    continue;
+                }
+                ArchiveSegment current = latest.getOrDefault(id, other);
+                if (current != added && version(added, id) > version(current, id)) {
+                    latest.put(id, added);
+                } else {
+                    latest.putIfAbsent(id, current);
+                }
+            }
+        }
+    }
+
+    private static long version(ArchiveSegment segment, long id) throws IOException {
+        ArchivedPost post = segment.find(id);
+        return post == null || post.getVersion() == null ? -1L : post.getVersion();
+    }
+
+    // 마지막 ID 를 쓰다가 멈췄다면 8 바이트가 안 되는 꼬리는 잘라낸다.
+    private void loadTombstones() throws IOException {
+        Path path = directory.resolve(TOMBSTONES);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % Long.BYTES != 0) {
+                channel.truncate(size - size % Long.BYTES);
+            }
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            while (true) {
+                tombstones.add(in.readLong());
+            }
+        } catch (EOFException e) {
+            // 끝
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.api.bulkhead;
+
+import com.blog.api.exception.ServiceUnavailable;
+import com.blog.api.limit.ConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 요청 종류별로 따로 쓰는 고정 크기 스레드 풀
+ *
+ * 큐가 가득 차면 기다리지 않고 바로 503 으로 거절하고, timeout 안에 끝나지 않은 요청도 503 으로 응답한다.
+ * (이미 시작한 작업은 트랜잭션 중일 수 있어 중단하지 않고 끝까지 실행된다.)
+ * limiter 가 있으면 작업마다 그 자리를 잡은 뒤 실행한다.
+ */
+public class Bulkhead {
+
+    @Getter
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final ConcurrencyLimiter limiter;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public Bulkhead(String name, int threads, int queueSize, Duration timeout) {
+        this(name, threads, queueSize, timeout, null);
+    }
+
+    public Bulkhead(String name, int threads, int queueSize, Duration timeout, ConcurrencyLimiter limiter) {
+        this.name = name;
+        this.timeout = timeout;
+        this.limiter = limiter;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(limiter == null ? task : () -> limiter.call(task), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new ServiceUnavailable(e));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, throwable) -> {
+                    if (throwable == null) {
+                        result.complete(value);
+                        return;
+                    }
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    if (cause instanceof TimeoutException) {
+                        timedOut.incrementAndGet();
+                        cause = new ServiceUnavailable(cause);
+                    }
+                    result.completeExceptionally(cause);
+                });
+        return result;
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("pool", name)
+                .description("작업 중인 스레드 수")
+                .register(registry);
+        Gauge.builder("blog.bulkhead.queued", executor, pool -> pool.getQueue().size())
+                .tag("pool", name)
+                .description("큐에서 기다리는 작업 수")
+                .register(registry);
+        Gauge.builder("blog.bulkhead.saturation", executor,
+                        pool -> (double) (pool.getActiveCount() + pool.getQueue().size())
+                                / (pool.getMaximumPoolSize() + pool.getQueue().size() + pool.getQueue().remainingCapacity()))
+                .tag("pool", name)
+                .description("(작업 중 + 대기) / (스레드 + 큐 크기)")
+                .register(registry);
+        FunctionCounter.builder("blog.bulkhead.rejected", rejected, AtomicLong::get)
+                .tag("pool", name)
+                .description("큐가 가득 차 거절한 요청 수")
+                .register(registry);
+        FunctionCounter.builder("blog.bulkhead.timeouts", timedOut, AtomicLong::get)
+                .tag("pool", name)
+                .description("시간 안에 끝나지 않은 요청 수")
+                .register(registry);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
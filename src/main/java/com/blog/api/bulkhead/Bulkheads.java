@@ -0,0 +1,76 @@
+package com.blog.api.bulkhead;
+
+import com.blog.api.limit.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 단건 조회, 목록 조회, 쓰기 요청이 서로의 스레드를 잡아먹지 않도록 풀을 나눈다.
+ * 풀 크기는 blog.bulkhead.{read,list,write}.threads / queue / timeout-millis 로 정한다.
+ *
+ * 세 풀의 작업은 모두 DB 를 쓰므로 blog.db-limit.* 의 ConcurrencyLimiter 하나를 같이 쓴다. (enabled=false 면 쓰지 않는다.)
+ * 작업 단위로 자리를 잡으므로 글, 목록, 댓글, 이력 리포지토리 호출이 모두 한도 안에 들어간다.
+ * min-limit 은 커넥션 풀 크기 정도로 두어 평소에는 풀이 먼저 차고, DB 가 느려질 때만 한도가 일을 하게 한다.
+ */
+@Component
+public class Bulkheads implements MeterBinder {
+
+    private final ConcurrencyLimiter dbLimiter;
+    private final Bulkhead read;
+    private final Bulkhead list;
+    private final Bulkhead write;
+
+    public Bulkheads(Environment environment) {
+        this.dbLimiter = environment.getProperty("blog.db-limit.enabled", Boolean.class, true)
+                ? ConcurrencyLimiter.create("db", environment, "blog.db-limit.")
+                : null;
+        this.read = create(environment, "read", 16, 200, 3000, dbLimiter);
+        this.list = create(environment, "list", 8, 100, 5000, dbLimiter);
+        this.write = create(environment, "write", 4, 50, 10000, dbLimiter);
+    }
+
+    public Bulkhead read() {
+        return read;
+    }
+
+    public Bulkhead list() {
+        return list;
+    }
+
+    public Bulkhead write() {
+        return write;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : List.of(read, list, write)) {
+            bulkhead.bindTo(registry);
+        }
+        if (dbLimiter != null) {
+            dbLimiter.bindTo(registry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Bulkhead bulkhead : List.of(read, list, write)) {
+            bulkhead.shutdown();
+        }
+    }
+
+    private static Bulkhead create(Environment environment, String name, int threads, int queue, long timeoutMillis,
+                                   ConcurrencyLimiter limiter) {
+        String prefix = "blog.bulkhead." + name + ".";
+        return new Bulkhead(name,
+                environment.getProperty(prefix + "threads", Integer.class, threads),
+                environment.getProperty(prefix + "queue", Integer.class, queue),
+                Duration.ofMillis(environment.getProperty(prefix + "timeout-millis", Long.class, timeoutMillis)),
+                limiter);
+    }
+}
@@ -0,0 +1,196 @@
+package com.blog.api.changelog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑된 로그 파일 하나
+ *
+ * | int length | int crc32 | body(length) | ...
+ *
+ * length 가 0 이면 그 뒤로는 비어있다.
+ * 다 쓴 세그먼트는 seal() 로 읽기 전용 매핑으로 바꿔 더는 쓸 수 없게 한다.
+ */
+class LogSegment {
+
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final Path path;
+    private final long baseSeq;
+    // 읽기 전용 세그먼트는 매핑 후 채널을 닫으므로 null
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    // 여기까지는 완전히 기록되어 읽어도 안전하다.
+    private volatile int committed;
+    private long lastSeq;
+
+    private LogSegment(Path path, long baseSeq, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSeq = baseSeq;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.lastSeq = baseSeq - 1;
+    }
+
+    static LogSegment open(Path path, long baseSeq, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int capacity = (int) Math.max(size, channel.size());
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        LogSegment segment = new LogSegment(path, baseSeq, channel, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    /**
+     * 더 쓰지 않는 세그먼트를 읽기 전용으로 연다. 매핑은 채널을 닫아도 유지된다.
+     */
+    static LogSegment openSealed(Path path, long baseSeq) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        LogSegment segment = new LogSegment(path, baseSeq, null, buffer);
+        segment.scan();
+        return segment;
+    }
+
+    /**
+     * 디스크에 내리고 쓰기 채널을 닫은 뒤 같은 파일을 읽기 전용으로 다시 연다.
+     */
+    LogSegment seal() throws IOException {
+        close();
+        return openSealed(path, baseSeq);
+    }
+
+    /**
+     * 체크섬이 맞는 마지막 레코드 뒤로 쓰기 위치를 맞춘다.
+     * 중간에 끊긴 레코드는 0 으로 지워 다음 쓰기가 이어서 할 수 있게 한다.
+     */
+    private void recover() {
+        scan();
+        for (int i = committed; i < Math.min(buffer.capacity(), committed + HEADER_SIZE); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private void scan() {
+        ByteBuffer view = buffer.duplicate();
+        int position = 0;
+        while (true) {
+            Record record = read(view, position, view.capacity());
+            if (record == null) {
+                break;
+            }
+            lastSeq = record.body.getLong(0);
+            position = record.next;
+        }
+        committed = position;
+    }
+
+    boolean hasRoom(int bodySize) {
+        return committed + HEADER_SIZE + bodySize <= buffer.capacity();
+    }
+
+    void append(long seq, ByteBuffer body) {
+        int position = committed;
+        int length = body.remaining();
+
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer target = buffer.duplicate();
+        target.position(position + HEADER_SIZE);
+        target.put(body);
+        target.putInt(position + Integer.BYTES, (int) crc.getValue());
+        // 길이를 마지막에 써야 읽는 쪽이 반쯤 쓰인 레코드를 보지 않는다.
+        target.putInt(position, length);
+
+        lastSeq = seq;
+        committed = position + HEADER_SIZE + length;
+    }
+
+    /**
+     * from 이상인 레코드의 body 를 차례로 넘긴다.
+     */
+    void forEach(long from, Consumer<ByteBuffer> consumer) {
+        ByteBuffer view = buffer.duplicate();
+        int limit = committed;
+        int position = 0;
+        while (position < limit) {
+            Record record = read(view, position, limit);
+            if (record == null) {
+                return;
+            }
+            if (record.body.getLong(0) >= from) {
+                consumer.accept(record.body);
+            }
+            position = record.next;
+        }
+    }
+
+    private static Record read(ByteBuffer view, int position, int limit) {
+        if (position + HEADER_SIZE > limit) {
+            return null;
+        }
+        int length = view.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > limit) {
+            return null;
+        }
+
+        ByteBuffer body = view.duplicate();
+        body.position(position + HEADER_SIZE).limit(position + HEADER_SIZE + length);
+        body = body.slice();
+
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != view.getInt(position + Integer.BYTES)) {
+            return null;
+        }
+        return new Record(body, position + HEADER_SIZE + length);
+    }
+
+    void force() {
+        if (channel != null) {
+            buffer.force();
+        }
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    long getBaseSeq() {
+        return baseSeq;
+    }
+
+    long getLastSeq() {
+        return lastSeq;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    private static class Record {
+        private final ByteBuffer body;
+        private final int next;
+
+        private Record(ByteBuffer body, int next) {
+            this.body = body;
+            this.next = next;
+        }
+    }
+}
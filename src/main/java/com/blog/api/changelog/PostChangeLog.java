@@ -0,0 +1,222 @@
+package com.blog.api.changelog;
+
+import com.blog.api.domain.PostChanged;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 게시글 변경 이력을 남기는 추가 전용 로그
+ *
+ * 디렉토리 안에 "{첫 시퀀스}.log" 이름의 세그먼트 파일을 만들고 메모리 매핑해서 이어 쓴다.
+ * 세그먼트가 가득 차면 새 세그먼트로 넘어가며, 이미 닫힌 세그먼트는 읽기 전용으로 매핑한다.
+ * 두 프로세스가 같은 디렉토리에 쓰지 않도록 열려 있는 동안 디렉토리의 잠금 파일에 배타적 FileLock 을 잡는다.
+ * 각 레코드에는 시퀀스와 CRC32 가 붙어 있어 재시작시 마지막으로 온전한 레코드까지 복구한다.
+ *
+ * body: | long seq | long timestamp | byte type | long postId | int len | title | int len | content |
+ */
+@Slf4j
+public class PostChangeLog implements AutoCloseable {
+
+    private static final String SUFFIX = ".log";
+    private static final String LOCK_FILE = ".lock";
+    private static final int NULL_LENGTH = -1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private LogSegment active;
+    private long lastSeq;
+
+    public PostChangeLog(Path directory, int segmentSize, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = tryLock(lockChannel);
+            if (lock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("다른 프로세스가 변경 로그를 쓰고 있습니다. directory=" + directory);
+            }
+
+            List<Path> paths = listSegments();
+            for (int i = 0; i < paths.size(); i++) {
+                Path path = paths.get(i);
+                segments.add(i + 1 < paths.size()
+                        ? LogSegment.openSealed(path, baseSeqOf(path))
+                        : LogSegment.open(path, baseSeqOf(path), segmentSize));
+            }
+            if (segments.isEmpty()) {
+                segments.add(LogSegment.open(pathOf(1L), 1L, segmentSize));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        active = segments.get(segments.size() - 1);
+        lastSeq = active.getLastSeq();
+        log.info("change log opened. directory={}, segments={}, lastSeq={}", directory, segments.size(), lastSeq);
+    }
+
+    public synchronized long append(PostChanged change) {
+        long seq = lastSeq + 1;
+        ByteBuffer body = encode(seq, change);
+
+        if (!active.hasRoom(body.remaining())) {
+            roll(seq, body.remaining());
+        }
+        active.append(seq, body);
+        if (fsync) {
+            active.force();
+        }
+
+        lastSeq = seq;
+        return seq;
+    }
+
+    /**
+     * from 시퀀스부터 현재까지 기록된 변경을 순서대로 넘긴다.
+     */
+    public void replay(long from, Consumer<PostChangeRecord> consumer) {
+        List<LogSegment> snapshot = new ArrayList<>(segments);
+        for (int i = 0; i < snapshot.size(); i++) {
+            boolean hasNext = i + 1 < snapshot.size();
+            if (hasNext && snapshot.get(i + 1).getBaseSeq() <= from) {
+                continue;
+            }
+            snapshot.get(i).forEach(from, body -> consumer.accept(decode(body)));
+        }
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (LogSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("change log segment close failed. path={}", segment.getPath(), e);
+            }
+        }
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("change log lock release failed. directory={}", directory, e);
+        }
+    }
+
+    private void roll(long seq, int bodySize) {
+        int size = Math.max(segmentSize, LogSegment.HEADER_SIZE + bodySize);
+        try {
+            LogSegment next = LogSegment.open(pathOf(seq), seq, size);
+            segments.set(segments.size() - 1, active.seal());
+            active = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.add(active);
+    }
+
+    // 같은 JVM 안에서 이미 잡은 잠금은 OverlappingFileLockException 으로 알려준다.
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private static ByteBuffer encode(long seq, PostChanged change) {
+        byte[] title = change.getTitle() == null ? null : change.getTitle().getBytes(StandardCharsets.UTF_8);
+        byte[] content = change.getContent() == null ? null : change.getContent().getBytes(StandardCharsets.UTF_8);
+
+        int size = Long.BYTES * 3 + 1 + Integer.BYTES * 2
+                + (title == null ? 0 : title.length)
+                + (content == null ? 0 : content.length);
+
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.putLong(seq);
+        body.putLong(change.getOccurredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        body.put((byte) change.getType().ordinal());
+        body.putLong(change.getPostId());
+        putBytes(body, title);
+        putBytes(body, content);
+        return body.flip();
+    }
+
+    private static PostChangeRecord decode(ByteBuffer body) {
+        ByteBuffer buffer = body.duplicate();
+        return PostChangeRecord.builder()
+                .seq(buffer.getLong())
+                .timestamp(buffer.getLong())
+                .type(PostChanged.Type.values()[buffer.get()])
+                .postId(buffer.getLong())
+                .title(getString(buffer))
+                .content(getString(buffer))
+                .build();
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path pathOf(long baseSeq) {
+        return directory.resolve(String.format("%020d%s", baseSeq, SUFFIX));
+    }
+
+    private static long baseSeqOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog.api.changelog;
+
+import com.blog.api.domain.PostChanged;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 커밋된 게시글 변경만 로그에 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostChangeLogListener {
+
+    private final PostChangeLog postChangeLog;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PostChanged event) {
+        postChangeLog.append(event);
+    }
+}
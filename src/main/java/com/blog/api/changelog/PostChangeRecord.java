@@ -0,0 +1,28 @@
+package com.blog.api.changelog;
+
+import com.blog.api.domain.PostChanged;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString(exclude = "content")
+public class PostChangeRecord {
+
+    private final long seq;
+    private final long timestamp;
+    private final PostChanged.Type type;
+    private final long postId;
+    private final String title;
+    private final String content;
+
+    @Builder
+    public PostChangeRecord(long seq, long timestamp, PostChanged.Type type, long postId, String title, String content) {
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.postId = postId;
+        this.title = title;
+        this.content = content;
+    }
+}
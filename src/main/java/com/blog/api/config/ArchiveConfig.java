@@ -0,0 +1,20 @@
+package com.blog.api.config;
+
+import com.blog.api.archive.PostArchive;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Paths;
+
+@Configuration
+@EnableScheduling
+public class ArchiveConfig {
+
+    @Bean(destroyMethod = "close")
+    public PostArchive postArchive(@Value("${blog.archive.directory}") String directory,
+                                   @Value("${blog.archive.fsync}") boolean fsync) {
+        return new PostArchive(Paths.get(directory), fsync);
+    }
+}
@@ -0,0 +1,19 @@
+package com.blog.api.config;
+
+import com.blog.api.changelog.PostChangeLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class ChangeLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public PostChangeLog postChangeLog(@Value("${blog.changelog.directory}") String directory,
+                                       @Value("${blog.changelog.segment-size}") int segmentSize,
+                                       @Value("${blog.changelog.fsync}") boolean fsync) {
+        return new PostChangeLog(Paths.get(directory), segmentSize, fsync);
+    }
+}
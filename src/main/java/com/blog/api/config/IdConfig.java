@@ -0,0 +1,26 @@
+package com.blog.api.config;
+
+import com.blog.api.id.Snowflake;
+import com.blog.api.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 애플리케이션 전체가 Snowflake 하나로 ID 를 만든다.
+ * Hibernate 의 SnowflakeIdGenerator 에도 같은 인스턴스를 넘겨 저장소(JPA, 메모리)와 관계없이 ID 가 겹치지 않는다.
+ */
+@Configuration
+public class IdConfig {
+
+    @Bean
+    public Snowflake snowflake(@Value("${blog.id.node-id:0}") long nodeId) {
+        return new Snowflake(nodeId);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeIdGeneratorCustomizer(Snowflake snowflake) {
+        return properties -> properties.put(SnowflakeIdGenerator.SNOWFLAKE, snowflake);
+    }
+}
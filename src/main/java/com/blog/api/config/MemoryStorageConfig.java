@@ -0,0 +1,28 @@
+package com.blog.api.config;
+
+import com.blog.api.storage.PostStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * blog.storage.type=memory 면 글을 PostStore 에 둔다.
+ * 보관(PostArchiver)은 post 테이블에서 직접 글을 지우므로 함께 켜면 시작하지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.storage.type", havingValue = "memory")
+public class MemoryStorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public PostStore postStore(@Value("${blog.storage.memory.directory}") String directory,
+                               @Value("${blog.storage.memory.fsync}") boolean fsync,
+                               @Value("${blog.archive.enabled:false}") boolean archiveEnabled) {
+        if (archiveEnabled) {
+            throw new IllegalStateException("blog.storage.type=memory 에서는 blog.archive.enabled 를 켤 수 없습니다.");
+        }
+        return new PostStore(Paths.get(directory), fsync);
+    }
+}
@@ -0,0 +1,107 @@
+package com.blog.api.config;
+
+import com.blog.api.json.PostResponseListHttpMessageConverter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프론트 빌드 결과물(front/dist)은 bootJar 에 static 으로 포함된다.
+ *
+ * - /assets/** : 파일명에 해시가 붙어 있으므로 1년간 immutable 로 캐시하고,
+ *                Accept-Encoding 에 맞는 .br, .gz 파일이 있으면 그대로 내려준다.
+ * - 그 밖의 경로 : static 파일(index.html, docs 등)은 새 배포를 바로 반영하도록 매번 재검증한다.
+ *                없는 경로라도 확장자가 없으면 createWebHistory 라우트(/write, /posts/1/edit 등)이므로
+ *                새로고침해도 열리도록 index.html 을 내려준다.
+ *                리소스 핸들러는 API 매핑(@RequestMapping)보다 나중에 선택되므로 API 경로는 영향을 받지 않는다.
+ *
+ * 글 목록(List<PostResponse>)은 Jackson 보다 앞에 둔 전용 컨버터가 쓴다.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final String INDEX = "index.html";
+    private static final CacheControl ASSETS_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic();
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(ASSETS_CACHE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new PathResourceResolver() {
+                    @Override
+                    protected Resource getResource(String resourcePath, Resource location) throws IOException {
+                        Resource resource = super.getResource(resourcePath, location);
+                        if (resource != null || StringUtils.getFilenameExtension(resourcePath) != null) {
+                            return resource;
+                        }
+                        return super.getResource(INDEX, location);
+                    }
+                });
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PostResponseListHttpMessageConverter());
+    }
+
+    /**
+     * CacheControl 은 immutable 지시어를 지원하지 않아, 리소스 핸들러가 쓰는 Cache-Control 에 필터에서 덧붙인다.
+     * 리소스 핸들러는 파일을 찾았을 때만 Cache-Control 을 쓰므로 404 같은 오류 응답은 캐시되지 않는다.
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> immutableAssetsFilter() {
+        String cached = ASSETS_CACHE.getHeaderValue();
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                chain.doFilter(request, new HttpServletResponseWrapper(response) {
+                    @Override
+                    public void setHeader(String name, String value) {
+                        super.setHeader(name, immutable(name, value));
+                    }
+
+                    @Override
+                    public void addHeader(String name, String value) {
+                        super.addHeader(name, immutable(name, value));
+                    }
+
+                    private String immutable(String name, String value) {
+                        return HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(name) && cached.equals(value)
+                                ? value + ", immutable"
+                                : value;
+                    }
+                });
+            }
+        });
+        registration.addUrlPatterns("/assets/*");
+        return registration;
+    }
+}
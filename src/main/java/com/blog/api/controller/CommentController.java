@@ -0,0 +1,32 @@
+package com.blog.api.controller;
+
+import com.blog.api.bulkhead.Bulkheads;
+import com.blog.api.request.CommentCreate;
+import com.blog.api.request.CommentSearch;
+import com.blog.api.response.CommentResponse;
+import com.blog.api.service.CommentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class CommentController {
+
+    private final CommentService commentService;
+    private final Bulkheads bulkheads;
+
+    @PostMapping("/posts/{postId}/comments")
+    public CompletableFuture<Void> write(@PathVariable Long postId, @RequestBody @Valid CommentCreate request) {
+        return bulkheads.write().run(() -> commentService.write(postId, request));
+    }
+
+    @GetMapping("/posts/{postId}/comments")
+    public CompletableFuture<List<CommentResponse>> getList(@PathVariable Long postId,
+                                                           @ModelAttribute CommentSearch commentSearch) {
+        return bulkheads.list().submit(() -> commentService.getList(postId, commentSearch));
+    }
+}
@@ -0,0 +1,85 @@
+package com.blog.api.controller;
+
+import com.blog.api.feed.RenderedXml;
+import com.blog.api.feed.SiteFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 미리 만들어 둔 피드와 sitemap 을 그대로 내려준다.
+ * 메모리만 읽으므로 Tomcat 스레드에서 바로 처리하고,
+ * If-None-Match 가 ETag 와 같으면 ResponseEntity 처리 과정에서 304 로 바뀐다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class FeedController {
+
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final SiteFeed siteFeed;
+
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> feed(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return xml(siteFeed.feed(), ATOM, acceptEncoding);
+    }
+
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> sitemapIndex(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return xml(siteFeed.sitemapIndex(), XML, acceptEncoding);
+    }
+
+    @GetMapping("/sitemap-{key}.xml")
+    public ResponseEntity<byte[]> sitemap(@PathVariable Long key,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        RenderedXml sitemap = siteFeed.sitemap(key);
+        if (sitemap == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return xml(sitemap, XML, acceptEncoding);
+    }
+
+    // 같은 내용이라도 인코딩이 다르면 다른 표현이므로 gzip 쪽 ETag 에는 -gzip 을 붙인다.
+    private static ResponseEntity<byte[]> xml(RenderedXml xml, MediaType mediaType, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .eTag(xml.getETag() + "-gzip")
+                    .body(xml.getGzip());
+        }
+        return response.eTag(xml.getETag())
+                .body(xml.getPlain());
+    }
+
+    // Accept-Encoding: gzip, deflate, br (gzip;q=0 은 거절)
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.equals("q=0") || param.matches("q=0\\.0*")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
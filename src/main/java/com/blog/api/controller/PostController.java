@@ -1,16 +1,31 @@
 package com.blog.api.controller;
 
+import com.blog.api.bulkhead.Bulkheads;
+import com.blog.api.exception.InvalidRequest;
 import com.blog.api.request.PostCreate;
 import com.blog.api.request.PostEdit;
 import com.blog.api.request.PostSearch;
+import com.blog.api.response.PopularPostResponse;
+import com.blog.api.response.PostBatchResponse;
 import com.blog.api.response.PostResponse;
+import com.blog.api.response.PostRevisionResponse;
+import com.blog.api.response.PostSuggestResponse;
+import com.blog.api.service.PostRevisionService;
 import com.blog.api.service.PostService;
+import com.blog.api.stream.PostChangeStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -18,30 +33,108 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final PostRevisionService postRevisionService;
+    private final PostChangeStream postChangeStream;
+    private final Bulkheads bulkheads;
 
+    @Value("${blog.content.raw-json:false}")
+    private boolean rawJson;
+
+    // 요청 처리는 Bulkheads 의 풀에서 하고 Tomcat 스레드는 바로 돌려준다.
     @PostMapping("/posts")
-    public void post(@RequestBody @Valid PostCreate request) {
+    public CompletableFuture<Void> post(@RequestBody @Valid PostCreate request) {
         request.validate();
-        postService.write(request);
+        return bulkheads.write().run(() -> postService.write(request));
     }
 
     @GetMapping("/posts/{postId}")
-    public PostResponse get(@PathVariable Long postId) {
-        return postService.get(postId);
+    public CompletableFuture<ResponseEntity<PostResponse>> get(@PathVariable Long postId,
+                                                               HttpServletResponse servletResponse) {
+        return bulkheads.read().submit(() -> {
+            if (rawJson) {
+                // 응답을 직접 쓰고 null 을 반환하면 MVC 는 처리가 끝난 것으로 본다.
+                postService.writeJson(postId, version -> {
+                    servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    servletResponse.setHeader(HttpHeaders.ETAG, "\"" + version + "\"");
+                    return servletResponse.getOutputStream();
+                });
+                return null;
+            }
+
+            PostResponse response = postService.get(postId);
+            return ResponseEntity.ok()
+                    .eTag(String.valueOf(response.getVersion()))
+                    .body(response);
+        });
     }
 
     @GetMapping("/posts")
-    public List<PostResponse> getList(@ModelAttribute PostSearch postSearch) {
-        return postService.getList(postSearch);
+    public CompletableFuture<List<PostResponse>> getList(@ModelAttribute PostSearch postSearch) {
+        return bulkheads.list().submit(() -> postService.getList(postSearch));
+    }
+
+    @GetMapping("/posts/popular")
+    public CompletableFuture<List<PopularPostResponse>> getPopular(@RequestParam(defaultValue = "10") int size) {
+        return bulkheads.read().submit(() -> postService.getPopular(size));
+    }
+
+    // 메모리 색인만 읽으므로 Tomcat 스레드에서 바로 처리한다.
+    @GetMapping("/posts/suggest")
+    public List<PostSuggestResponse> suggest(@RequestParam(defaultValue = "") String q,
+                                             @RequestParam(defaultValue = "10") int size) {
+        return postService.suggest(q, size);
+    }
+
+    // GET /posts?ids=3,1,2
+    @GetMapping(value = "/posts", params = "ids")
+    public CompletableFuture<PostBatchResponse> getAll(@RequestParam List<Long> ids) {
+        return bulkheads.read().submit(() -> postService.getAll(ids));
+    }
+
+    @GetMapping("/posts/{postId}/revisions")
+    public CompletableFuture<List<PostRevisionResponse>> getRevisions(@PathVariable Long postId) {
+        return bulkheads.list().submit(() -> postRevisionService.getList(postId));
+    }
+
+    @GetMapping("/posts/{postId}/revisions/{revision}")
+    public CompletableFuture<PostRevisionResponse> getRevision(@PathVariable Long postId, @PathVariable Integer revision) {
+        return bulkheads.read().submit(() -> postRevisionService.get(postId, revision));
+    }
+
+    @GetMapping(value = "/posts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return postChangeStream.subscribe(lastEventId);
     }
 
     @PatchMapping("/posts/{postId}")
-    public void edit(@PathVariable Long postId, @RequestBody @Valid PostEdit request) {
-        postService.edit(postId, request);
+    public CompletableFuture<Void> edit(@PathVariable Long postId, @RequestBody @Valid PostEdit request,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = parseVersion(ifMatch);
+        return bulkheads.write().run(() -> postService.edit(postId, request, expectedVersion));
     }
 
     @DeleteMapping("/posts/{postId}")
-    public void delete(@PathVariable Long postId) {
-        postService.delete(postId);
+    public CompletableFuture<Void> delete(@PathVariable Long postId) {
+        return bulkheads.write().run(() -> postService.delete(postId));
+    }
+
+    // If-Match: "3", * 는 글이 있기만 하면 되므로 버전을 검사하지 않는다.
+    // If-Match 는 강한 비교만 하므로 약한 ETag(W/"3")는 거절한다. (RFC 9110 13.1.1)
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            throw new InvalidRequest(HttpHeaders.IF_MATCH, "If-Match 에는 약한 ETag 를 쓸 수 없습니다.");
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequest(HttpHeaders.IF_MATCH, "버전 형식이 올바르지 않습니다.");
+        }
     }
 }
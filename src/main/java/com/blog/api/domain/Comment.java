@@ -0,0 +1,40 @@
+package com.blog.api.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_post_id", columnList = "post_id, id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Comment extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = "com.blog.api.id.SnowflakeIdGenerator")
+    private Long id;
+
+    private String author;
+
+    @Column(length = 1000)
+    private String content;
+
+    // 보관 계층으로 옮긴 글에도 댓글이 달리므로 post 테이블을 참조하지 않는다.
+    // 글을 지우면 PostService 가 CommentService.deleteAll 로 함께 지운다.
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Builder
+    public Comment(String author, String content, Long postId) {
+        this.author = author;
+        this.content = content;
+        this.postId = postId;
+    }
+}
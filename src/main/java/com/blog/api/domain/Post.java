@@ -1,17 +1,30 @@
 package com.blog.api.domain;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
 import javax.persistence.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Entity
 @NoArgsConstructor(access = AccessLevel.PUBLIC)
 @Getter
 @Setter
-public class Post {
+public class Post extends BaseTimeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = "com.blog.api.id.SnowflakeIdGenerator")
     private Long id;
 
     public String title;
@@ -19,10 +32,40 @@ public class Post {
     @Lob
     public String content;
 
+    @Version
+    private Long version;
+
+    // 소문자로 저장한다. 태그 검색은 TagIndex 가 메모리에서 처리한다.
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "post_tag", joinColumns = @JoinColumn(name = "post_id"))
+    @Column(name = "tag", length = 30)
+    private Set<String> tags = new LinkedHashSet<>();
+
+    // 리포지토리 save, delete 호출이 끝나면 PostChanged 로 발행된다.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private final transient List<PostChanged.Type> changes = new ArrayList<>();
+
     @Builder
-    public Post(String title, String content) {
+    public Post(String title, String content, Collection<String> tags) {
         this.title = title;
         this.content = content;
+        if (tags != null) {
+            this.tags = normalizeTags(tags);
+        }
+    }
+
+    public static Set<String> normalizeTags(Collection<String> tags) {
+        return tags.stream()
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // 지연 로딩된 태그를 읽지 않았다면 null
+    public Set<String> loadedTags() {
+        return Hibernate.isInitialized(tags) ? tags : null;
     }
 
     public PostEditor.PostEditorBuilder toEditor() {
@@ -34,5 +77,32 @@ public class Post {
     public void edit(PostEditor postEditor) {
         title = postEditor.getTitle();
         content = postEditor.getContent();
+        if (postEditor.getTags() != null) {
+            tags.clear();
+            tags.addAll(normalizeTags(postEditor.getTags()));
+        }
+        changes.add(PostChanged.Type.EDITED);
+    }
+
+    @PrePersist
+    void onPersist() {
+        changes.add(PostChanged.Type.CREATED);
+    }
+
+    @PreRemove
+    void onRemove() {
+        changes.add(PostChanged.Type.DELETED);
+    }
+
+    @DomainEvents
+    public List<PostChanged> domainEvents() {
+        return changes.stream()
+                .map(type -> PostChanged.of(type, this))
+                .collect(Collectors.toList());
+    }
+
+    @AfterDomainEventPublication
+    public void clearDomainEvents() {
+        changes.clear();
     }
 }
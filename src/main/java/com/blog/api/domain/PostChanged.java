@@ -0,0 +1,56 @@
+package com.blog.api.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 게시글 생성/수정/삭제 이벤트
+ * 리포지토리 save, delete 가 끝난 시점의 값을 담는다.
+ */
+@Getter
+@ToString(exclude = "content")
+public class PostChanged {
+
+    public enum Type {
+        CREATED, EDITED, DELETED
+    }
+
+    private final Type type;
+    private final Long postId;
+    private final String title;
+    private final String content;
+    // 태그를 바꾸지 않은(읽지 않은) 수정과 삭제는 null
+    private final Set<String> tags;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime occurredAt;
+
+    @Builder
+    public PostChanged(Type type, Long postId, String title, String content, Set<String> tags,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime occurredAt) {
+        this.type = type;
+        this.postId = postId;
+        this.title = title;
+        this.content = content;
+        this.tags = tags;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.occurredAt = occurredAt != null ? occurredAt : LocalDateTime.now();
+    }
+
+    public static PostChanged of(Type type, Post post) {
+        return PostChanged.builder()
+                .type(type)
+                .postId(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .tags(type == Type.DELETED || post.loadedTags() == null ? null : Set.copyOf(post.loadedTags()))
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+}
@@ -3,16 +3,22 @@ package com.blog.api.domain;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
+
 @Getter
 public class PostEditor {
 
     private final String title;
     private final String content;
 
+    // null 이면 태그는 그대로 둔다.
+    private final List<String> tags;
+
     @Builder
-    public PostEditor(String title, String content) {
+    public PostEditor(String title, String content, List<String> tags) {
         this.title = title;
         this.content = content;
+        this.tags = tags;
     }
 
     public static PostEditorBuilder builder() {
@@ -22,6 +28,7 @@ public class PostEditor {
     public static class PostEditorBuilder {
         private String title;
         private String content;
+        private List<String> tags;
 
         PostEditorBuilder() {
         }
@@ -40,12 +47,19 @@ public class PostEditor {
             return this;
         }
 
+        public PostEditorBuilder tags(final List<String> tags) {
+            if (tags != null) {
+                this.tags = tags;
+            }
+            return this;
+        }
+
         public PostEditor build() {
-            return new PostEditor(this.title, this.content);
+            return new PostEditor(this.title, this.content, this.tags);
         }
 
         public String toString() {
-            return "PostEditor.PostEditorBuilder(title=" + this.title + ", content=" + this.content + ")";
+            return "PostEditor.PostEditorBuilder(title=" + this.title + ", content=" + this.content + ", tags=" + this.tags + ")";
         }
     }
 }
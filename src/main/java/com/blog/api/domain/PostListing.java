@@ -0,0 +1,84 @@
+package com.blog.api.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 목록 조회 전용 테이블
+ *
+ * post 테이블의 본문(LOB) 대신 앞부분(excerpt)만 담아 행을 좁게 유지한다.
+ * 글 작성/수정/삭제시 PostListingProjector 가 같은 트랜잭션에서 갱신한다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_post_listing_created_at", columnList = "createdAt, id"),
+        @Index(name = "idx_post_listing_updated_at", columnList = "updatedAt, id"),
+        @Index(name = "idx_post_listing_title", columnList = "title, id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostListing {
+
+    public static final int EXCERPT_LENGTH = 200;
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    private int contentLength;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public PostListing(Long id, String title, String content, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt(content);
+        this.contentLength = content == null ? 0 : content.length();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static PostListing from(PostChanged change) {
+        return PostListing.builder()
+                .id(change.getPostId())
+                .title(change.getTitle())
+                .content(change.getContent())
+                .createdAt(change.getCreatedAt())
+                .updatedAt(change.getUpdatedAt())
+                .build();
+    }
+
+    public static PostListing from(Post post) {
+        return PostListing.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+
+    private static String excerpt(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        int end = EXCERPT_LENGTH;
+        // 서로게이트 쌍 중간에서 자르지 않는다.
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
+    }
+}
@@ -0,0 +1,106 @@
+package com.blog.api.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+
+/**
+ * 게시글 수정 이력
+ *
+ * 스냅샷이면 content 에 본문 전체를, 아니면 직전 버전과 비교해
+ * 앞뒤로 같은 길이(prefixLength, suffixLength)와 바뀐 가운데 부분만 저장한다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_post_revision_post_id", columnList = "postId, revision", unique = true)
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostRevision extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = "com.blog.api.id.SnowflakeIdGenerator")
+    private Long id;
+
+    private Long postId;
+
+    private Integer revision;
+
+    private boolean snapshot;
+
+    private String title;
+
+    private int prefixLength;
+
+    private int suffixLength;
+
+    @Lob
+    private String content;
+
+    @Builder
+    public PostRevision(Long postId, Integer revision, boolean snapshot, String title,
+                        int prefixLength, int suffixLength, String content) {
+        this.postId = postId;
+        this.revision = revision;
+        this.snapshot = snapshot;
+        this.title = title;
+        this.prefixLength = prefixLength;
+        this.suffixLength = suffixLength;
+        this.content = content;
+    }
+
+    public static PostRevision snapshot(Long postId, int revision, String title, String content) {
+        return PostRevision.builder()
+                .postId(postId)
+                .revision(revision)
+                .snapshot(true)
+                .title(title)
+                .content(content)
+                .build();
+    }
+
+    public static PostRevision delta(Long postId, int revision, String title, String previous, String current) {
+        String before = previous == null ? "" : previous;
+        String after = current == null ? "" : current;
+
+        int max = Math.min(before.length(), after.length());
+        int prefix = 0;
+        while (prefix < max && before.charAt(prefix) == after.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+            suffix++;
+        }
+
+        return PostRevision.builder()
+                .postId(postId)
+                .revision(revision)
+                .snapshot(false)
+                .title(title)
+                .prefixLength(prefix)
+                .suffixLength(suffix)
+                .content(after.substring(prefix, after.length() - suffix))
+                .build();
+    }
+
+    /**
+     * 직전 버전의 본문에 이 이력을 적용한 본문
+     */
+    public String apply(String previous) {
+        if (snapshot) {
+            return content;
+        }
+        String before = previous == null ? "" : previous;
+        String middle = content == null ? "" : content;
+        return before.substring(0, prefixLength)
+                + middle
+                + before.substring(before.length() - suffixLength);
+    }
+}
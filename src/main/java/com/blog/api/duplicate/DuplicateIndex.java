@@ -0,0 +1,96 @@
+package com.blog.api.duplicate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MinHash 서명의 LSH(locality-sensitive hashing) 색인
+ *
+ * 서명을 BANDS 개의 띠(ROWS 개씩)로 나누고 띠마다 해시 버킷에 넣는다.
+ * 유사도가 s 인 두 글이 한 띠라도 같은 버킷에 들어갈 확률은 1 - (1 - s^ROWS)^BANDS 이므로
+ * 비슷한 글만 후보로 나오고, 후보 수는 전체 글 수와 상관없이 작다.
+ * (BANDS 16, ROWS 4 면 s = 0.8 은 99.9%, s = 0.3 은 12% 확률로 후보가 된다.)
+ *
+ * 스레드 안전하지 않다.
+ */
+class DuplicateIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = MinHash.SIZE / BANDS;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, long[]>[] buckets = new Map[BANDS];
+
+    DuplicateIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band] = new HashMap<>();
+        }
+    }
+
+    void put(long id, int[] signature) {
+        remove(id);
+        signatures.put(id, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band].merge(bandKey(signature, band), new long[]{id}, DuplicateIndex::concat);
+        }
+    }
+
+    void remove(long id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band].computeIfPresent(bandKey(signature, band), (key, ids) -> {
+                long[] rest = Arrays.stream(ids).filter(other -> other != id).toArray();
+                return rest.length == 0 ? null : rest;
+            });
+        }
+    }
+
+    /**
+     * @return 추정 유사도가 threshold 이상인 글 ID → 유사도
+     */
+    Map<Long, Double> findSimilar(int[] signature, double threshold) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            for (long id : buckets[band].getOrDefault(bandKey(signature, band), EMPTY)) {
+                candidates.add(id);
+            }
+        }
+
+        Map<Long, Double> similar = new HashMap<>();
+        for (Long id : candidates) {
+            double similarity = MinHash.similarity(signature, signatures.get(id));
+            if (similarity >= threshold) {
+                similar.put(id, similarity);
+            }
+        }
+        return similar;
+    }
+
+    int size() {
+        return signatures.size();
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x100000001b3L + signature[i];
+        }
+        return key;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package com.blog.api.duplicate;
+
+import java.util.Arrays;
+
+/**
+ * 본문의 MinHash 서명
+ *
+ * 공백을 하나로 줄이고 소문자로 바꾼 본문을 글자 SHINGLE_SIZE 개씩 겹쳐 자른 집합(shingle)으로 보고,
+ * 해시 함수 SIZE 개 각각의 최솟값을 서명으로 쓴다.
+ * 두 서명에서 같은 자리 값이 같은 비율은 두 shingle 집합의 Jaccard 유사도 추정치다.
+ * 형태소 분석 없이 글자 단위로 자르므로 한글에도 그대로 쓸 수 있다.
+ */
+final class MinHash {
+
+    static final int SIZE = 64;
+
+    private static final int SHINGLE_SIZE = 5;
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIZE; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHash() {
+    }
+
+    static int[] signature(String text) {
+        String normalized = normalize(text);
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (int start = 0; start + SHINGLE_SIZE <= normalized.length(); start++) {
+            long shingle = hash(normalized, start, start + SHINGLE_SIZE);
+            for (int i = 0; i < SIZE; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / SIZE;
+    }
+
+    private static String normalize(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = result.length() > 0;
+                continue;
+            }
+            if (space) {
+                result.append(' ');
+                space = false;
+            }
+            result.append(Character.toLowerCase(c));
+        }
+        return result.toString();
+    }
+
+    // FNV-1a
+    private static long hash(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // splitmix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.api.duplicate;
+
+import com.blog.api.domain.Post;
+import com.blog.api.domain.PostChanged;
+import com.blog.api.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 거의 같은 본문의 글을 찾는다.
+ *
+ * 글마다 MinHash 서명(int 64 개)만 메모리에 두고 LSH 버킷으로 후보를 찾으므로,
+ * 글이 많아져도 본문을 비교하지 않고 후보 몇 개의 서명만 비교한다.
+ * 짧은 본문은 조금만 달라도 유사도가 크게 흔들리므로 minLength 보다 짧으면 검사하지 않는다.
+ */
+@Slf4j
+@Component
+public class NearDuplicateDetector {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final boolean enabled;
+    private final double threshold;
+    private final int minLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private DuplicateIndex index = new DuplicateIndex();
+
+    public NearDuplicateDetector(PostRepository postRepository,
+                                 @Value("${blog.duplicate.enabled:true}") boolean enabled,
+                                 @Value("${blog.duplicate.threshold:0.8}") double threshold,
+                                 @Value("${blog.duplicate.min-length:200}") int minLength) {
+        this.postRepository = postRepository;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.minLength = minLength;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        DuplicateIndex newIndex = new DuplicateIndex();
+        Long lastId = null;
+        List<Post> batch;
+        do {
+            batch = postRepository.getAllAfter(lastId, REBUILD_BATCH_SIZE);
+            for (Post post : batch) {
+                if (isCheckable(post.getContent())) {
+                    newIndex.put(post.getId(), MinHash.signature(post.getContent()));
+                }
+                lastId = post.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            index = newIndex;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("duplicate index rebuilt. posts={}", newIndex.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PostChanged event) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (event.getType() != PostChanged.Type.DELETED && isCheckable(event.getContent())) {
+                index.put(event.getPostId(), MinHash.signature(event.getContent()));
+            } else {
+                index.remove(event.getPostId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 본문이 threshold 이상 비슷한 기존 글 ID, 유사도가 높은 순
+     */
+    public List<Long> findSimilar(String content) {
+        if (!enabled || !isCheckable(content)) {
+            return List.of();
+        }
+
+        int[] signature = MinHash.signature(content);
+        Map<Long, Double> similar;
+        lock.readLock().lock();
+        try {
+            similar = index.findSimilar(signature, threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return similar.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private boolean isCheckable(String content) {
+        return content != null && content.length() >= minLength;
+    }
+}
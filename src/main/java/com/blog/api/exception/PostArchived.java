@@ -0,0 +1,18 @@
+package com.blog.api.exception;
+
+/**
+ * 보관된 글은 읽기와 삭제만 할 수 있다.
+ */
+public class PostArchived extends BlogException {
+
+    private static final String MESSAGE = "보관된 글은 수정할 수 없습니다.";
+
+    public PostArchived() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 409;
+    }
+}
@@ -0,0 +1,19 @@
+package com.blog.api.exception;
+
+public class PostConflict extends BlogException{
+
+    private static final String MESSAGE = "다른 사용자가 먼저 수정한 글입니다.";
+
+    public PostConflict() {
+        super(MESSAGE);
+    }
+
+    public PostConflict(Throwable cause) {
+        super(MESSAGE, cause);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 409;
+    }
+}
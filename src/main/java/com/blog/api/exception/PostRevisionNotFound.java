@@ -0,0 +1,15 @@
+package com.blog.api.exception;
+
+public class PostRevisionNotFound extends BlogException{
+
+    private static final String MESSAGE = "존재하지 않는 수정 이력입니다.";
+
+    public PostRevisionNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
@@ -0,0 +1,19 @@
+package com.blog.api.exception;
+
+public class ServiceUnavailable extends BlogException {
+
+    private static final String MESSAGE = "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.";
+
+    public ServiceUnavailable() {
+        super(MESSAGE);
+    }
+
+    public ServiceUnavailable(Throwable cause) {
+        super(MESSAGE, cause);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 503;
+    }
+}
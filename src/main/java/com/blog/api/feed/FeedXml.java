@@ -0,0 +1,165 @@
+package com.blog.api.feed;
+
+import com.blog.api.domain.PostListing;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Atom 피드와 sitemap XML 을 만든다.
+ * 항목 수가 정해져 있고 구조가 단순해서 XML 라이브러리 없이 StringBuilder 로 쓴다.
+ */
+final class FeedXml {
+
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+    private static final String EPOCH = "1970-01-01T00:00:00Z";
+
+    private FeedXml() {
+    }
+
+    static String atom(String baseUrl, String title, Collection<PostListing> posts, ZoneId zone) {
+        String updated = posts.stream()
+                .map(FeedXml::lastModified)
+                .filter(time -> time != null)
+                .max(LocalDateTime::compareTo)
+                .map(time -> format(time, zone))
+                .orElse(EPOCH);
+
+        StringBuilder xml = new StringBuilder(HEADER.length() + 512 + posts.size() * 512).append(HEADER);
+        xml.append("<feed xmlns=\"http://www.w3.org/2005/Atom\">\n");
+        element(xml, "title", title);
+        xml.append("<link href=\"").append(escape(baseUrl)).append("/\"/>\n");
+        xml.append("<link rel=\"self\" href=\"").append(escape(baseUrl)).append("/feed.xml\"/>\n");
+        element(xml, "id", baseUrl + "/");
+        element(xml, "updated", updated);
+
+        for (PostListing post : posts) {
+            String link = postUrl(baseUrl, post.getId());
+            xml.append("<entry>\n");
+            element(xml, "title", post.getTitle());
+            xml.append("<link href=\"").append(escape(link)).append("\"/>\n");
+            element(xml, "id", link);
+            if (post.getCreatedAt() != null) {
+                element(xml, "published", format(post.getCreatedAt(), zone));
+            }
+            LocalDateTime lastModified = lastModified(post);
+            element(xml, "updated", lastModified == null ? EPOCH : format(lastModified, zone));
+            element(xml, "summary", post.getExcerpt());
+            xml.append("</entry>\n");
+        }
+        return xml.append("</feed>\n").toString();
+    }
+
+    static String urlset(String baseUrl, Map<Long, LocalDateTime> urls, ZoneId zone) {
+        StringBuilder xml = new StringBuilder(HEADER.length() + 128 + urls.size() * 128).append(HEADER);
+        xml.append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (Map.Entry<Long, LocalDateTime> url : urls.entrySet()) {
+            xml.append("<url>");
+            element(xml, "loc", postUrl(baseUrl, url.getKey()), false);
+            if (url.getValue() != null) {
+                element(xml, "lastmod", format(url.getValue(), zone), false);
+            }
+            xml.append("</url>\n");
+        }
+        return xml.append("</urlset>\n").toString();
+    }
+
+    static String sitemapIndex(String baseUrl, Map<Long, LocalDateTime> sitemaps, ZoneId zone) {
+        StringBuilder xml = new StringBuilder(HEADER.length() + 128 + sitemaps.size() * 128).append(HEADER);
+        xml.append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (Map.Entry<Long, LocalDateTime> sitemap : sitemaps.entrySet()) {
+            xml.append("<sitemap>");
+            element(xml, "loc", sitemapUrl(baseUrl, sitemap.getKey()), false);
+            if (sitemap.getValue() != null) {
+                element(xml, "lastmod", format(sitemap.getValue(), zone), false);
+            }
+            xml.append("</sitemap>\n");
+        }
+        return xml.append("</sitemapindex>\n").toString();
+    }
+
+    static String postUrl(String baseUrl, Long id) {
+        return baseUrl + "/posts/" + id;
+    }
+
+    static String sitemapUrl(String baseUrl, Long key) {
+        return baseUrl + "/sitemap-" + key + ".xml";
+    }
+
+    static LocalDateTime lastModified(PostListing post) {
+        return post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getCreatedAt();
+    }
+
+    private static void element(StringBuilder xml, String name, String value) {
+        element(xml, name, value, true);
+    }
+
+    private static void element(StringBuilder xml, String name, String value, boolean newLine) {
+        xml.append('<').append(name).append('>')
+                .append(escape(value))
+                .append("</").append(name).append('>');
+        if (newLine) {
+            xml.append('\n');
+        }
+    }
+
+    // 2024-01-02T03:04:05+09:00 (W3C Datetime, Atom/sitemap 공통)
+    private static String format(LocalDateTime time, ZoneId zone) {
+        return time.truncatedTo(ChronoUnit.SECONDS)
+                .atZone(zone)
+                .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    /**
+     * XML 특수문자를 바꾸고 XML 1.0 에서 쓸 수 없는 제어문자는 뺀다.
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '\'':
+                    replacement = "&apos;";
+                    break;
+                default:
+                    replacement = isXmlChar(c) ? null : "";
+            }
+            if (replacement == null) {
+                if (escaped != null) {
+                    escaped.append(c);
+                }
+                continue;
+            }
+            if (escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            escaped.append(replacement);
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+
+    // 서로게이트는 쌍으로 들어오므로 그대로 둔다.
+    private static boolean isXmlChar(char c) {
+        return c == '\t' || c == '\n' || c == '\r' || (c >= 0x20 && c != 0xFFFE && c != 0xFFFF);
+    }
+}
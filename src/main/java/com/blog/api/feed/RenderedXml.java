@@ -0,0 +1,40 @@
+package com.blog.api.feed;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 미리 만들어 둔 XML 응답
+ * 요청마다 압축하지 않도록 원본과 gzip 을 함께 들고 있는다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class RenderedXml {
+
+    private final byte[] plain;
+    private final byte[] gzip;
+    private final String eTag;
+
+    static RenderedXml of(CharSequence xml) {
+        byte[] plain = xml.toString().getBytes(StandardCharsets.UTF_8);
+        return new RenderedXml(plain, gzip(plain), DigestUtils.md5DigestAsHex(plain));
+    }
+
+    private static byte[] gzip(byte[] plain) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(plain);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,250 @@
+package com.blog.api.feed;
+
+import com.blog.api.domain.PostChanged;
+import com.blog.api.domain.PostListing;
+import com.blog.api.repository.PostListingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * /feed.xml(Atom)과 /sitemap.xml 을 미리 만들어 둔다.
+ *
+ * 요청마다 글을 조회하지 않도록 응답을 RenderedXml(원본 + gzip)로 들고 있다가 그대로 내려주고,
+ * 글이 바뀌면 그 글이 들어 있는 부분만 다시 만든다.
+ * - 피드 : 최근 글 size 개, 그 안의 글이 바뀌거나 더 최근 글이 생길 때만 다시 만든다.
+ * - sitemap : 글 ID 범위로 나눈 조각(chunk)마다 파일 하나, 조각은 시작 ID 로 부르므로 주소가 바뀌지 않는다.
+ *             새 글은 마지막 조각에 붙고 chunkSize 를 넘으면 새 조각을 연다.
+ *             조각이 바뀌면 그 조각과 색인(sitemap.xml)만 다시 만든다.
+ *
+ * 쓰기는 한 번에 하나씩(synchronized) 하고, 읽기는 만들어 둔 결과만 보므로 잠그지 않는다.
+ * 목록 테이블(post_listing)에서 다시 만들므로 보관 계층으로 옮긴 글도 포함된다.
+ */
+@Slf4j
+@Component
+public class SiteFeed {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PostListingRepository postListingRepository;
+    private final String baseUrl;
+    private final String title;
+    private final int size;
+    private final int chunkSize;
+    private final ZoneId zone;
+
+    // 최근 글 (ID 오름차순), 최대 size 개
+    private TreeMap<Long, PostListing> latest = new TreeMap<>();
+    private volatile ConcurrentSkipListMap<Long, Chunk> chunks = new ConcurrentSkipListMap<>();
+    private long count;
+
+    private volatile RenderedXml feed;
+    private volatile RenderedXml index;
+
+    @Autowired
+    public SiteFeed(PostListingRepository postListingRepository,
+                    @Value("${blog.feed.base-url:http://localhost:8080}") String baseUrl,
+                    @Value("${blog.feed.title:blog}") String title,
+                    @Value("${blog.feed.size:20}") int size,
+                    @Value("${blog.feed.sitemap-chunk-size:1000}") int chunkSize) {
+        this(postListingRepository, baseUrl, title, size, chunkSize, ZoneId.systemDefault());
+    }
+
+    SiteFeed(PostListingRepository postListingRepository, String baseUrl, String title,
+             int size, int chunkSize, ZoneId zone) {
+        if (size < 1 || chunkSize < 1 || chunkSize > 50_000) {
+            throw new IllegalArgumentException("size 는 1 이상, sitemap-chunk-size 는 1 ~ 50000 이어야 합니다.");
+        }
+        this.postListingRepository = postListingRepository;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.title = title;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.zone = zone;
+        renderFeed();
+        renderIndex();
+    }
+
+    public RenderedXml feed() {
+        return feed;
+    }
+
+    public RenderedXml sitemapIndex() {
+        return index;
+    }
+
+    /**
+     * @return 없는 조각이면 null
+     */
+    public RenderedXml sitemap(Long key) {
+        Chunk chunk = chunks.get(key);
+        return chunk == null ? null : chunk.rendered;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        TreeMap<Long, PostListing> newLatest = new TreeMap<>();
+        ConcurrentSkipListMap<Long, Chunk> newChunks = new ConcurrentSkipListMap<>();
+        Chunk last = null;
+        long newCount = 0;
+
+        PageRequest pageRequest = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Page<PostListing> page;
+        do {
+            page = postListingRepository.findAll(pageRequest);
+            for (PostListing listing : page) {
+                if (last == null || last.urls.size() >= chunkSize) {
+                    last = new Chunk();
+                    newChunks.put(listing.getId(), last);
+                }
+                last.urls.put(listing.getId(), FeedXml.lastModified(listing));
+                newLatest.put(listing.getId(), listing);
+                if (newLatest.size() > size) {
+                    newLatest.pollFirstEntry();
+                }
+                newCount++;
+            }
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+
+        newChunks.values().forEach(this::render);
+
+        synchronized (this) {
+            latest = newLatest;
+            chunks = newChunks;
+            count = newCount;
+            renderFeed();
+            renderIndex();
+        }
+        log.info("site feed rebuilt. posts={}, sitemaps={}", newCount, newChunks.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PostChanged event) {
+        if (event.getType() == PostChanged.Type.DELETED) {
+            remove(event.getPostId());
+        } else {
+            put(PostListing.from(event));
+        }
+    }
+
+    public synchronized void put(PostListing post) {
+        Long id = post.getId();
+
+        // sitemap
+        Map.Entry<Long, Chunk> floor = chunks.floorEntry(id);
+        Chunk chunk;
+        if (floor == null
+                || (floor.getKey().equals(chunks.lastKey())
+                && floor.getValue().urls.size() >= chunkSize
+                && id > floor.getValue().urls.lastKey())) {
+            chunk = new Chunk();
+            chunks.put(id, chunk);
+        } else {
+            chunk = floor.getValue();
+        }
+        if (chunk.urls.put(id, FeedXml.lastModified(post)) == null) {
+            count++;
+        }
+        if (chunk.urls.size() > chunkSize) {
+            split(chunk);
+        } else {
+            render(chunk);
+        }
+        renderIndex();
+
+        // 피드
+        if (latest.containsKey(id) || latest.size() < size || id > latest.firstKey()) {
+            latest.put(id, post);
+            if (latest.size() > size) {
+                latest.pollFirstEntry();
+            }
+            renderFeed();
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Map.Entry<Long, Chunk> floor = chunks.floorEntry(id);
+        if (floor == null || floor.getValue().urls.remove(id) == null) {
+            return;
+        }
+        count--;
+        if (floor.getValue().urls.isEmpty()) {
+            chunks.remove(floor.getKey());
+        } else {
+            render(floor.getValue());
+        }
+        renderIndex();
+
+        if (latest.remove(id) != null) {
+            // 피드에서 빠진 자리는 목록 테이블에서 다시 채운다.
+            if (count > latest.size()) {
+                reloadLatest();
+            }
+            renderFeed();
+        }
+    }
+
+    private void reloadLatest() {
+        TreeMap<Long, PostListing> reloaded = new TreeMap<>();
+        postListingRepository.findAll(PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id")))
+                .forEach(listing -> reloaded.put(listing.getId(), listing));
+        latest = reloaded;
+    }
+
+    // 가운데 글(ID 순서 기준)부터 새 조각으로 옮긴다. ID 가 순서대로 생기면 일어나지 않는다.
+    private void split(Chunk chunk) {
+        List<Long> ids = new ArrayList<>(chunk.urls.keySet());
+        Long middle = ids.get(ids.size() / 2);
+        Chunk upper = new Chunk();
+        NavigableMap<Long, LocalDateTime> tail = chunk.urls.tailMap(middle, true);
+        upper.urls.putAll(tail);
+        tail.clear();
+        render(chunk);
+        render(upper);
+        chunks.put(middle, upper);
+    }
+
+    private void render(Chunk chunk) {
+        chunk.lastModified = chunk.urls.values().stream()
+                .filter(time -> time != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        chunk.rendered = RenderedXml.of(FeedXml.urlset(baseUrl, chunk.urls, zone));
+    }
+
+    private void renderIndex() {
+        Map<Long, LocalDateTime> sitemaps = new LinkedHashMap<>();
+        chunks.forEach((key, chunk) -> sitemaps.put(key, chunk.lastModified));
+        index = RenderedXml.of(FeedXml.sitemapIndex(baseUrl, sitemaps, zone));
+    }
+
+    private void renderFeed() {
+        feed = RenderedXml.of(FeedXml.atom(baseUrl, title, latest.descendingMap().values(), zone));
+    }
+
+    // sitemap 파일 하나, urls 는 쓰는 스레드만 만진다.
+    private static class Chunk {
+
+        private final TreeMap<Long, LocalDateTime> urls = new TreeMap<>();
+        private LocalDateTime lastModified;
+        private volatile RenderedXml rendered;
+    }
+}
@@ -0,0 +1,68 @@
+package com.blog.api.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 64비트 시간순 ID 생성기
+ *
+ * | 1bit 부호(0) | 41bit 타임스탬프(ms, EPOCH 기준) | 10bit 노드 ID | 12bit 시퀀스 |
+ *
+ * 락 없이 AtomicLong 하나의 CAS 로 (타임스탬프, 시퀀스)를 함께 증가시킨다.
+ * 같은 밀리초에 시퀀스가 넘치거나 시계가 뒤로 가면 다음 밀리초를 미리 빌려 쓰므로
+ * 한 노드 안에서는 항상 단조 증가하고, 노드 ID 가 다르면 여러 서버에서도 겹치지 않는다.
+ */
+public class Snowflake {
+
+    public static final long EPOCH = 1672531200000L; // 2023-01-01T00:00:00Z
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // (timestamp - EPOCH) << SEQUENCE_BITS | sequence
+    private final AtomicLong state = new AtomicLong();
+
+    public Snowflake(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    Snowflake(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다. nodeId=" + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = clock.getAsLong() - EPOCH;
+
+            long next = now > (last >>> SEQUENCE_BITS)
+                    ? now << SEQUENCE_BITS
+                    : last + 1;
+
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                        | (nodeId << SEQUENCE_BITS)
+                        | sequence;
+            }
+        }
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
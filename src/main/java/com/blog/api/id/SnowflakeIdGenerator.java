@@ -0,0 +1,42 @@
+package com.blog.api.id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * IDENTITY 대신 애플리케이션에서 ID 를 미리 할당한다.
+ * persist 시점에 INSERT 를 바로 날리지 않아도 되므로 flush 때 배치 INSERT 가 가능하다.
+ *
+ * 애플리케이션의 Snowflake 빈(IdConfig)을 Hibernate 설정으로 넘겨받아 쓴다.
+ * 노드 ID 는 blog.id.node-id 로 서버마다 다르게 지정한다.
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    public static final String SNOWFLAKE = "blog.id.snowflake";
+
+    private Snowflake snowflake;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object shared = serviceRegistry.getService(ConfigurationService.class)
+                .getSettings()
+                .get(SNOWFLAKE);
+        if (!(shared instanceof Snowflake)) {
+            throw new MappingException(SNOWFLAKE + " 설정에 Snowflake 가 없습니다.");
+        }
+        snowflake = (Snowflake) shared;
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        return snowflake.nextId();
+    }
+}
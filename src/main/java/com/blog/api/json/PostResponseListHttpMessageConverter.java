@@ -0,0 +1,103 @@
+package com.blog.api.json;
+
+import com.blog.api.response.CommentResponse;
+import com.blog.api.response.PostResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * List<PostResponse> 응답을 리플렉션 없이 필드 단위로 바로 출력 스트림에 쓴다.
+ * Jackson 의 BeanSerializer 대신 미리 인코딩한 필드 이름과 Utf8JsonWriter 를 사용한다.
+ * 쓰기 전용이며 다른 타입은 기존 Jackson 컨버터가 처리한다.
+ */
+public class PostResponseListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<PostResponse>> {
+
+    private static final byte[] ID = Utf8JsonWriter.name("id");
+    private static final byte[] TITLE = Utf8JsonWriter.name("title");
+    private static final byte[] CONTENT = Utf8JsonWriter.name("content");
+    private static final byte[] COMMENT_COUNT = Utf8JsonWriter.name("commentCount");
+    private static final byte[] COMMENTS = Utf8JsonWriter.name("comments");
+    private static final byte[] AUTHOR = Utf8JsonWriter.name("author");
+    private static final byte[] CREATED_AT = Utf8JsonWriter.name("createdAt");
+
+    public PostResponseListHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (type == null || !canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass())
+                && PostResponse.class.equals(resolved.asCollection().resolveGeneric(0));
+    }
+
+    @Override
+    protected void writeInternal(List<PostResponse> posts, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        Utf8JsonWriter json = new Utf8JsonWriter(outputMessage.getBody());
+
+        json.beginArray();
+        for (PostResponse post : posts) {
+            json.beginObject()
+                    .field(ID).valueAsString(post.getId())
+                    .field(TITLE).value(post.getTitle())
+                    .field(CONTENT).value(post.getContent());
+            if (post.getCommentCount() != null) {
+                json.field(COMMENT_COUNT).value(post.getCommentCount());
+            }
+            if (post.getComments() != null) {
+                writeComments(json, post.getComments());
+            }
+            json.endObject();
+        }
+        json.endArray().flush();
+    }
+
+    // Jackson(JavaTimeModule) 과 같은 ISO-8601 형식으로 날짜를 쓴다.
+    private static void writeComments(Utf8JsonWriter json, List<CommentResponse> comments) throws IOException {
+        json.field(COMMENTS).beginArray();
+        for (CommentResponse comment : comments) {
+            json.beginObject()
+                    .field(ID).valueAsString(comment.getId())
+                    .field(AUTHOR).value(comment.getAuthor())
+                    .field(CONTENT).value(comment.getContent())
+                    .field(CREATED_AT).value(comment.getCreatedAt() == null
+                            ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(comment.getCreatedAt()))
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    @Override
+    public List<PostResponse> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    protected List<PostResponse> readInternal(Class<? extends List<PostResponse>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+}
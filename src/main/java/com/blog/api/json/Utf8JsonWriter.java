@@ -0,0 +1,263 @@
+package com.blog.api.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * String 이나 Jackson 트리를 거치지 않고 UTF-8 JSON 을 바로 OutputStream 에 쓴다.
+ *
+ * 필드 이름은 name(...) 으로 미리 인코딩해 두고 재사용한다.
+ * 문자열 이스케이프는 Jackson 기본 설정과 같은 결과를 낸다.
+ */
+public final class Utf8JsonWriter {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final char[] chars = new char[BUFFER_SIZE / 4];
+    private int position;
+
+    // Reader 를 읽다가 버퍼 경계에 걸린 high surrogate
+    private char pendingHighSurrogate;
+
+    // 직전에 쓴 값 뒤에 ',' 가 필요한지
+    private boolean needsComma;
+
+    public Utf8JsonWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * "name": 을 미리 UTF-8 로 만들어 둔다.
+     */
+    public static byte[] name(String name) {
+        return ('"' + name + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public Utf8JsonWriter beginObject() throws IOException {
+        separate();
+        write('{');
+        needsComma = false;
+        return this;
+    }
+
+    public Utf8JsonWriter endObject() throws IOException {
+        write('}');
+        needsComma = true;
+        return this;
+    }
+
+    public Utf8JsonWriter beginArray() throws IOException {
+        separate();
+        write('[');
+        needsComma = false;
+        return this;
+    }
+
+    public Utf8JsonWriter endArray() throws IOException {
+        write(']');
+        needsComma = true;
+        return this;
+    }
+
+    public Utf8JsonWriter field(byte[] name) throws IOException {
+        separate();
+        write(name);
+        needsComma = false;
+        return this;
+    }
+
+    public Utf8JsonWriter value(Long value) throws IOException {
+        separate();
+        if (value == null) {
+            write(NULL);
+        } else {
+            write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+        }
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * ID 처럼 2^53 을 넘을 수 있는 값은 JavaScript 에서 정밀도를 잃지 않도록 문자열로 쓴다.
+     */
+    public Utf8JsonWriter valueAsString(Long value) throws IOException {
+        separate();
+        if (value == null) {
+            write(NULL);
+        } else {
+            write('"');
+            write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            write('"');
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public Utf8JsonWriter value(int value) throws IOException {
+        separate();
+        write(Integer.toString(value).getBytes(StandardCharsets.US_ASCII));
+        needsComma = true;
+        return this;
+    }
+
+    public Utf8JsonWriter value(CharSequence value) throws IOException {
+        separate();
+        if (value == null) {
+            write(NULL);
+        } else {
+            write('"');
+            for (int i = 0; i < value.length(); i++) {
+                writeChar(value.charAt(i));
+            }
+            endString();
+        }
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Reader 의 내용을 하나의 문자열 값으로 쓴다. 전체를 String 으로 만들지 않는다.
+     */
+    public Utf8JsonWriter value(Reader reader) throws IOException {
+        separate();
+        if (reader == null) {
+            write(NULL);
+        } else {
+            write('"');
+            int read;
+            while ((read = reader.read(chars)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    writeChar(chars[i]);
+                }
+            }
+            endString();
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    private void separate() throws IOException {
+        if (needsComma) {
+            write(',');
+        }
+    }
+
+    private void endString() throws IOException {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            write('?');
+        }
+        write('"');
+    }
+
+    private void writeChar(char c) throws IOException {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                writeCodePoint(Character.toCodePoint(high, c));
+                return;
+            }
+            write('?');
+        }
+
+        if (c < 0x80) {
+            writeAscii(c);
+        } else if (c < 0x800) {
+            ensure(2);
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            write('?');
+        } else {
+            ensure(3);
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensure(4);
+        buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    private void writeAscii(char c) throws IOException {
+        if (c >= 0x20 && c != '"' && c != '\\') {
+            write(c);
+            return;
+        }
+
+        ensure(6);
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buffer[position++] = (byte) c;
+                break;
+            case '\n':
+                buffer[position++] = 'n';
+                break;
+            case '\r':
+                buffer[position++] = 'r';
+                break;
+            case '\t':
+                buffer[position++] = 't';
+                break;
+            case '\b':
+                buffer[position++] = 'b';
+                break;
+            case '\f':
+                buffer[position++] = 'f';
+                break;
+            default:
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+        }
+    }
+
+    private void write(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            out.write(buffer, 0, position);
+            position = 0;
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int size) throws IOException {
+        if (position + size > buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
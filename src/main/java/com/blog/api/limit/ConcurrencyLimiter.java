@@ -0,0 +1,173 @@
+package com.blog.api.limit;
+
+import com.blog.api.exception.ServiceUnavailable;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 동시에 실행하는 작업 수를 GradientLimit 한도 안으로 묶는다.
+ *
+ * 한도가 차면 queueSize 개까지만 maxWait 동안 기다리게 하고, 그 밖에는 바로 503 으로 거절한다.
+ * DB 가 느려질 때 커넥션 풀 앞에 요청이 끝없이 쌓이는 대신 일부를 빨리 돌려보내 나머지의 응답 시간을 지킨다.
+ *
+ * Bulkhead 가 작업 하나(트랜잭션 하나)를 통째로 call 로 감싸므로, 작업 안에서 리포지토리를 몇 번 부르든
+ * 자리는 한 번만 잡고 트랜잭션이 끝날 때까지 놓지 않는다.
+ */
+public class ConcurrencyLimiter {
+
+    @Getter
+    private final String name;
+    private final GradientLimit limit;
+    private final int queueSize;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private int inFlight;
+    private int waiting;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    ConcurrencyLimiter(String name, GradientLimit limit, int queueSize, Duration maxWait) {
+        this.name = name;
+        this.limit = limit;
+        this.queueSize = queueSize;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * {prefix}initial-limit, min-limit, max-limit, tolerance, smoothing, queue, max-wait-millis 로 만든다.
+     */
+    public static ConcurrencyLimiter create(String name, Environment environment, String prefix) {
+        return new ConcurrencyLimiter(name,
+                new GradientLimit(
+                        environment.getProperty(prefix + "initial-limit", Integer.class, 20),
+                        environment.getProperty(prefix + "min-limit", Integer.class, 10),
+                        environment.getProperty(prefix + "max-limit", Integer.class, 200),
+                        environment.getProperty(prefix + "tolerance", Double.class, 1.5),
+                        environment.getProperty(prefix + "smoothing", Double.class, 0.2)),
+                environment.getProperty(prefix + "queue", Integer.class, 50),
+                Duration.ofMillis(environment.getProperty(prefix + "max-wait-millis", Long.class, 100L)));
+    }
+
+    /**
+     * 자리를 잡고 task 를 실행한다. 걸린 시간으로 한도를 조절한다.
+     */
+    public <T> T call(Supplier<T> task) {
+        int started = acquire();
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            release(System.nanoTime() - start, started);
+        }
+    }
+
+    /**
+     * @return 시작할 때 실행 중인 작업 수 (자기 포함), release 에 그대로 넘긴다.
+     */
+    int acquire() {
+        lock.lock();
+        try {
+            if (inFlight >= limit.get()) {
+                if (waiting >= queueSize) {
+                    throw reject();
+                }
+                waiting++;
+                try {
+                    long remaining = maxWaitNanos;
+                    while (inFlight >= limit.get()) {
+                        if (remaining <= 0) {
+                            throw reject();
+                        }
+                        remaining = available.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw reject();
+                } finally {
+                    waiting--;
+                }
+            }
+            return ++inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long rttNanos, int started) {
+        lock.lock();
+        try {
+            inFlight--;
+            int before = limit.get();
+            limit.onSample(rttNanos, started);
+            if (limit.get() > before) {
+                available.signalAll();
+            } else {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return limit.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ServiceUnavailable reject() {
+        rejected.incrementAndGet();
+        return new ServiceUnavailable();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.limiter.limit", this, ConcurrencyLimiter::getLimit)
+                .tag("name", name)
+                .description("지금 허용하는 동시 실행 수")
+                .register(registry);
+        Gauge.builder("blog.limiter.in-flight", this, ConcurrencyLimiter::getInFlight)
+                .tag("name", name)
+                .description("실행 중인 작업 수")
+                .register(registry);
+        Gauge.builder("blog.limiter.queued", this, ConcurrencyLimiter::getWaiting)
+                .tag("name", name)
+                .description("자리가 나기를 기다리는 작업 수")
+                .register(registry);
+        FunctionCounter.builder("blog.limiter.rejected", rejected, AtomicLong::get)
+                .tag("name", name)
+                .description("한도와 대기열이 차서 거절한 작업 수")
+                .register(registry);
+    }
+}
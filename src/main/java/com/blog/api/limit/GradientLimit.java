@@ -0,0 +1,81 @@
+package com.blog.api.limit;
+
+/**
+ * 응답 시간으로 동시 실행 한도를 정한다. (Netflix concurrency-limits 의 Gradient2 방식)
+ *
+ * 평소 응답 시간(longRtt, 천천히 따라가는 평균)과 최근 응답 시간(shortRtt, 표본 WINDOW_SIZE 개 평균)의
+ * 비율(gradient)만큼 한도를 줄인다. DB 가 느려지면 shortRtt 가 늘어 한도가 줄고,
+ * 응답 시간이 평소 수준이면 gradient 가 1 이 되어 √limit 만큼씩 천천히 늘린다.
+ * 한도를 절반도 쓰지 않는 동안에는 늘리지 않는다. (쓰지도 않는 한도가 max 까지 커지는 것을 막는다.)
+ *
+ * 스레드 안전하지 않다. ConcurrencyLimiter 가 잠근 상태에서 부른다.
+ */
+class GradientLimit {
+
+    static final int WINDOW_SIZE = 10;
+
+    // longRtt 가 표본 창 몇 개에 걸쳐 따라가는지
+    private static final double LONG_WINDOW = 60;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private double limit;
+    private double longRtt;
+
+    private long windowSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("1 <= min-limit <= initial-limit <= max-limit 이어야 합니다.");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+    }
+
+    int get() {
+        return (int) limit;
+    }
+
+    /**
+     * @param rttNanos 호출 하나에 걸린 시간
+     * @param inFlight 그 호출이 시작할 때 실행 중이던 호출 수 (자기 포함)
+     */
+    void onSample(long rttNanos, int inFlight) {
+        windowSum += Math.max(1, rttNanos);
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (windowCount < WINDOW_SIZE) {
+            return;
+        }
+
+        double shortRtt = (double) windowSum / windowCount;
+        int maxInFlight = windowMaxInFlight;
+        windowSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) / LONG_WINDOW;
+        // 느린 상태가 끝나 평소보다 훨씬 빨라졌으면 예전 기준을 빨리 잊는다.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,178 @@
+package com.blog.api.popular;
+
+import com.blog.api.domain.PostChanged;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 최근 많이 읽힌 글
+ *
+ * 조회 수를 글마다 세지 않고 Space-Saving 카운터 capacity 개로 상위 글만 추정하므로
+ * 글이 몇 개든 메모리가 일정하다.
+ * 오래된 조회는 반감기(half-life)마다 절반의 가치가 되도록 지수 감쇠한다.
+ * 매번 모든 카운터를 줄이는 대신 새 조회에 e^(λ(t - landmark)) 의 가중치를 주고(forward decay),
+ * 가중치가 너무 커지면 전체를 한 번 줄이고 landmark 를 옮긴다.
+ *
+ * 조회 스레드는 잠그지 않고 글별 가중치를 pending 버퍼에 더하기만 한다.
+ * 버퍼는 주기적으로, top 을 부를 때, 버퍼가 maxPending 개를 넘을 때 잠금 안에서 카운터로 옮긴다.
+ * 옮기는 순간 버퍼를 갈아 끼우므로 그 사이에 들어온 조회 몇 건은 빠질 수 있다. (추정치라 괜찮다)
+ */
+@Component
+public class PopularPosts {
+
+    private static final double RESCALE_EXPONENT = 50;
+
+    private final SpaceSaving counters;
+    private final double lambda;
+    private final LongSupplier clock;
+    private final int maxPending;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicReference<Pending> pending;
+    // lock 안에서만 바꾼다.
+    private long landmark;
+
+    @Autowired
+    public PopularPosts(@Value("${blog.popular.capacity:1024}") int capacity,
+                        @Value("${blog.popular.half-life-minutes:60}") long halfLifeMinutes) {
+        this(capacity, Duration.ofMinutes(halfLifeMinutes), System::currentTimeMillis);
+    }
+
+    PopularPosts(int capacity, Duration halfLife, LongSupplier clock) {
+        this.counters = new SpaceSaving(capacity);
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.clock = clock;
+        this.maxPending = capacity * 16;
+        this.landmark = clock.getAsLong();
+        this.pending = new AtomicReference<>(new Pending(landmark));
+    }
+
+    public void record(Long postId) {
+        while (true) {
+            long now = clock.getAsLong();
+            Pending buffer = pending.get();
+            double exponent = lambda * (now - buffer.landmark);
+            if (exponent > RESCALE_EXPONENT) {
+                // 가중치가 너무 커지기 전에 카운터를 줄이고 새 landmark 의 버퍼로 바꾼다.
+                lock.lock();
+                try {
+                    drain(now);
+                } finally {
+                    lock.unlock();
+                }
+                continue;
+            }
+
+            buffer.weights.computeIfAbsent(postId, id -> new DoubleAdder()).add(Math.exp(exponent));
+            if (buffer.weights.size() >= maxPending && lock.tryLock()) {
+                try {
+                    drain(now);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.popular.drain-interval-ms:1000}")
+    public void drain() {
+        lock.lock();
+        try {
+            drain(clock.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 지금 시점으로 감쇠한 점수 내림차순
+     */
+    public List<Popularity> top(int n) {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            drain(now);
+            double decay = Math.exp(-lambda * (now - landmark));
+            return counters.top(n).stream()
+                    .map(counter -> new Popularity(counter.key, counter.count * decay, counter.error * decay))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void on(PostChanged event) {
+        if (event.getType() != PostChanged.Type.DELETED) {
+            return;
+        }
+        lock.lock();
+        try {
+            drain(clock.getAsLong());
+            counters.remove(event.getPostId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 버퍼를 새것으로 바꾸고 쌓인 가중치를 지금 landmark 기준으로 바꿔 카운터에 더한다.
+     * 무거운 글부터 넣어야 가벼운 글이 먼저 카운터를 차지했다가 빼앗기며 생기는 오차가 줄어든다.
+     */
+    private void drain(long now) {
+        double exponent = lambda * (now - landmark);
+        if (exponent > RESCALE_EXPONENT) {
+            counters.scale(Math.exp(-exponent));
+            landmark = now;
+        }
+
+        Pending drained = pending.getAndSet(new Pending(landmark));
+        if (drained.weights.isEmpty()) {
+            return;
+        }
+        double factor = Math.exp(lambda * (drained.landmark - landmark));
+        drained.weights.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .forEach(entry -> counters.offer(entry.getKey(), entry.getValue() * factor));
+    }
+
+    // landmark 기준 가중치를 글별로 모아 둔다.
+    private static class Pending {
+
+        private final long landmark;
+        private final ConcurrentHashMap<Long, DoubleAdder> weights = new ConcurrentHashMap<>();
+
+        private Pending(long landmark) {
+            this.landmark = landmark;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    public static class Popularity {
+
+        private final Long postId;
+
+        // 최근 조회 수(감쇠 반영) 추정치, 최대 error 만큼 많게 셀 수 있다.
+        private final double score;
+        private final double error;
+    }
+}
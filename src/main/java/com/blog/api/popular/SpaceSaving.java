@@ -0,0 +1,161 @@
+package com.blog.api.popular;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 빈도 상위 K 추정
+ *
+ * 카운터를 capacity 개만 두고, 가득 찬 상태에서 새 키가 들어오면 가장 작은 카운터를 빼앗는다.
+ * 이때 빼앗긴 값만큼은 과대 추정일 수 있으므로 error 로 남긴다. (count - error 가 실제 값의 하한)
+ * 카운터는 count 기준 최소 힙으로 관리해서 갱신이 O(log capacity) 이다.
+ *
+ * 스레드 안전하지 않다.
+ */
+class SpaceSaving {
+
+    private final int capacity;
+    private final long[] keys;
+    private final double[] counts;
+    private final double[] errors;
+    private final Map<Long, Integer> positions;
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.counts = new double[capacity];
+        this.errors = new double[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    void offer(long key, double weight) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            counts[position] += weight;
+            siftDown(position);
+            return;
+        }
+
+        if (size < capacity) {
+            keys[size] = key;
+            counts[size] = weight;
+            errors[size] = 0;
+            positions.put(key, size);
+            siftUp(size++);
+            return;
+        }
+
+        // 가장 작은 카운터(힙의 루트)를 새 키에 넘긴다.
+        positions.remove(keys[0]);
+        double min = counts[0];
+        keys[0] = key;
+        errors[0] = min;
+        counts[0] = min + weight;
+        positions.put(key, 0);
+        siftDown(0);
+    }
+
+    void remove(long key) {
+        Integer position = positions.remove(key);
+        if (position == null) {
+            return;
+        }
+
+        int last = --size;
+        if (position != last) {
+            move(last, position);
+            siftDown(position);
+            siftUp(position);
+        }
+    }
+
+    // 모든 카운터에 같은 값을 곱해도 순서는 그대로다.
+    void scale(double factor) {
+        for (int i = 0; i < size; i++) {
+            counts[i] *= factor;
+            errors[i] *= factor;
+        }
+    }
+
+    List<Counter> top(int n) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> counts[i]).reversed()
+                .thenComparing(i -> keys[i], Comparator.reverseOrder()));
+
+        List<Counter> result = new ArrayList<>(Math.min(n, size));
+        for (int i = 0; i < Math.min(n, size); i++) {
+            int index = order[i];
+            result.add(new Counter(keys[index], counts[index], errors[index]));
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = position * 2 + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && counts[left + 1] < counts[left] ? left + 1 : left;
+            if (counts[position] <= counts[smallest]) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        double count = counts[a];
+        double error = errors[a];
+        move(b, a);
+        keys[b] = key;
+        counts[b] = count;
+        errors[b] = error;
+        positions.put(key, b);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        counts[to] = counts[from];
+        errors[to] = errors[from];
+        positions.put(keys[to], to);
+    }
+
+    static class Counter {
+
+        final long key;
+        final double count;
+        final double error;
+
+        Counter(long key, double count, double error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
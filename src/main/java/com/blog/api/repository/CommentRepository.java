@@ -0,0 +1,9 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.Comment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
+
+    void deleteByPostId(Long postId);
+}
@@ -0,0 +1,19 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.Comment;
+import com.blog.api.request.CommentSearch;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CommentRepositoryCustom {
+
+    List<Comment> getList(Long postId, CommentSearch commentSearch);
+
+    // 글 ID 별 댓글 수 (댓글이 없는 글은 빠진다)
+    Map<Long, Long> countByPostIds(Collection<Long> postIds);
+
+    // 글마다 먼저 달린 댓글 limit 개씩
+    List<Comment> getFirstByPostIds(Collection<Long> postIds, int limit);
+}
@@ -0,0 +1,70 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.Comment;
+import com.blog.api.request.CommentSearch;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.blog.api.domain.QComment.comment;
+
+@RequiredArgsConstructor
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private static final String FIRST_BY_POST_IDS = "select ranked.* from ("
+            + " select c.*, row_number() over (partition by c.post_id order by c.id) as rn"
+            + " from comment c"
+            + " where c.post_id in (:postIds)"
+            + ") ranked"
+            + " where ranked.rn <= :limit"
+            + " order by ranked.post_id, ranked.id";
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<Comment> getList(Long postId, CommentSearch commentSearch) {
+        return jpaQueryFactory.selectFrom(comment)
+                .where(comment.postId.eq(postId))
+                .limit(commentSearch.getLimit())
+                .offset(commentSearch.getOffset())
+                .orderBy(comment.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public Map<Long, Long> countByPostIds(Collection<Long> postIds) {
+        List<Tuple> rows = jpaQueryFactory.select(comment.postId, comment.count())
+                .from(comment)
+                .where(comment.postId.in(postIds))
+                .groupBy(comment.postId)
+                .fetch();
+
+        return rows.stream()
+                .collect(Collectors.toMap(row -> row.get(comment.postId), row -> row.get(comment.count())));
+    }
+
+    /**
+     * 글마다 ROW_NUMBER() 로 댓글 순번을 매기고 limit 번째까지만 고른다.
+     * 댓글마다 먼저 달린 댓글 수를 세는 상관 서브쿼리와 달리 댓글 수에 비례해 한 번만 읽으며,
+     * idx_comment_post_id(post_id, id) 순서 그대로 번호를 매긴다.
+     * JPQL 에는 윈도우 함수가 없어 네이티브 쿼리를 쓴다.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Comment> getFirstByPostIds(Collection<Long> postIds, int limit) {
+        return em.createNativeQuery(FIRST_BY_POST_IDS, Comment.class)
+                .setParameter("postIds", postIds)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.blog.api.repository;
+
+import com.blog.api.storage.PostStore;
+import com.blog.api.storage.StoredPost;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+
+/**
+ * blog.storage.type=memory 일 때 raw-json 조회가 post 테이블 대신 PostStore 를 읽게 한다.
+ * 본문은 이미 메모리에 있으므로 String 을 그대로 Reader 로 넘긴다.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "blog.storage.type", havingValue = "memory")
+public class InMemoryPostContentRepository extends PostContentRepository {
+
+    private final PostStore postStore;
+
+    public InMemoryPostContentRepository(JdbcTemplate jdbcTemplate, PostStore postStore) {
+        super(jdbcTemplate);
+        this.postStore = postStore;
+    }
+
+    @Override
+    public boolean read(Long id, ContentHandler handler) {
+        StoredPost post = postStore.get(id).orElse(null);
+        if (post == null) {
+            return false;
+        }
+
+        try (Reader content = new StringReader(post.getContent() == null ? "" : post.getContent())) {
+            handler.handle(post.getId(), post.getVersion(), post.getTitle(), content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+}
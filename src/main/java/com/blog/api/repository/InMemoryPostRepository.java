@@ -0,0 +1,260 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.Post;
+import com.blog.api.domain.PostChanged;
+import com.blog.api.domain.PostListing;
+import com.blog.api.id.Snowflake;
+import com.blog.api.request.PostSearch;
+import com.blog.api.storage.PostStore;
+import com.blog.api.storage.StoredPost;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * blog.storage.type=memory 일 때 JpaPostRepository 대신 쓰는 PostRepository
+ *
+ * 글을 PostStore(메모리 + WAL + 스냅샷)에 두고, 돌려주는 Post 는 매번 새로 만든 사본이다.
+ * 그래서 JPA 의 변경 감지는 없고 save 를 불러야 반영된다. (PostService 는 항상 save 를 부른다.)
+ * JPA 리포지토리와 같이 맞추는 것
+ * - ID 는 JPA 와 같은 Snowflake 빈에서 받고, 버전은 0 부터, 작성/수정 시각을 채운다.
+ * - ID 가 없는 글만 새로 만든다. 버전이 다르거나 그 사이 지워진 글이면 ObjectOptimisticLockingFailureException
+ * - save, delete 후 PostChanged 를 발행한다.
+ * - 트랜잭션 안에서 바꾼 글은 트랜잭션이 롤백되면 이전 상태로 되돌린다.
+ *
+ * 바뀐 글은 커밋 전에도 다른 요청에 보인다. (롤백되면 되돌리므로 그 사이 읽은 값은 사라질 수 있다.)
+ * 글 조회와 목록(getList)은 PostStore 만 읽으므로 H2 를 거치지 않는다. raw-json 조회는 InMemoryPostContentRepository 가 맡는다.
+ * 이력, 댓글, 인기 글/태그 검색이 쓰는 post_listing 은 그대로 JPA 에 둔다.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "blog.storage.type", havingValue = "memory")
+public class InMemoryPostRepository implements PostRepository {
+
+    private final PostStore postStore;
+    private final Snowflake snowflake;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InMemoryPostRepository(PostStore postStore, Snowflake snowflake, ApplicationEventPublisher eventPublisher) {
+        this.postStore = postStore;
+        this.snowflake = snowflake;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public <S extends Post> S save(S post) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PostChanged> events;
+
+        if (post.getId() == null) {
+            post.setId(snowflake.nextId());
+            post.setVersion(0L);
+            post.restoreTimes(now, now);
+            StoredPost stored = toStored(post);
+            if (!postStore.replace(post.getId(), null, stored)) {
+                throw new ObjectOptimisticLockingFailureException(Post.class, post.getId());
+            }
+            undoOnRollback(post.getId(), stored, null);
+            events = List.of(PostChanged.of(PostChanged.Type.CREATED, post));
+        } else {
+            // 그 사이 지워진 글을 새 글로 되살리지 않는다.
+            StoredPost current = postStore.get(post.getId())
+                    .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Post.class, post.getId()));
+            if (!current.getVersion().equals(post.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Post.class, post.getId());
+            }
+            post.setVersion(current.getVersion() + 1);
+            post.restoreTimes(current.getCreatedAt(), now);
+            StoredPost stored = toStored(post);
+            if (!postStore.replace(post.getId(), current, stored)) {
+                post.setVersion(current.getVersion());
+                throw new ObjectOptimisticLockingFailureException(Post.class, post.getId());
+            }
+            undoOnRollback(post.getId(), stored, current);
+            events = post.domainEvents();
+        }
+
+        events.forEach(eventPublisher::publishEvent);
+        post.clearDomainEvents();
+        return post;
+    }
+
+    @Override
+    public <S extends Post> List<S> saveAll(Iterable<S> posts) {
+        List<S> saved = new ArrayList<>();
+        for (S post : posts) {
+            saved.add(save(post));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends Post> S saveAndFlush(S post) {
+        return save(post);
+    }
+
+    @Override
+    public Optional<Post> findById(Long id) {
+        return postStore.get(id).map(InMemoryPostRepository::toPost);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return postStore.contains(id);
+    }
+
+    @Override
+    public List<Post> findAll() {
+        return postStore.ascending().stream()
+                .map(InMemoryPostRepository::toPost)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long count() {
+        return postStore.size();
+    }
+
+    @Override
+    public void delete(Post post) {
+        if (post.getId() == null) {
+            return;
+        }
+        StoredPost removed = postStore.remove(post.getId());
+        if (removed != null) {
+            undoOnRollback(post.getId(), null, removed);
+            eventPublisher.publishEvent(PostChanged.of(PostChanged.Type.DELETED, post));
+        }
+    }
+
+    // JPA 의 deleteAll 처럼 PostChanged 를 발행하지 않는다.
+    @Override
+    public void deleteAll() {
+        postStore.clear();
+    }
+
+    // PostRepositoryCustom
+
+    // ID 내림차순으로 걸으며 거르므로 post_listing(H2)을 읽지 않는다.
+    @Override
+    public List<PostListing> getList(PostSearch postSearch) {
+        return postStore.descending().stream()
+                .filter(post -> matches(post, postSearch))
+                .skip(postSearch.getOffset())
+                .limit(postSearch.getLimit())
+                .map(post -> PostListing.builder()
+                        .id(post.getId())
+                        .title(post.getTitle())
+                        .content(post.getContent())
+                        .createdAt(post.getCreatedAt())
+                        .updatedAt(post.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Post> getAllByIds(Collection<Long> ids) {
+        return ids.stream()
+                .map(postStore::get)
+                .flatMap(Optional::stream)
+                .map(InMemoryPostRepository::toPost)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> getAllIds() {
+        return postStore.ascending().stream()
+                .map(StoredPost::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Post> getAllAfter(Long afterId, int limit) {
+        Collection<StoredPost> posts = afterId == null ? postStore.ascending() : postStore.ascendingAfter(afterId);
+        return posts.stream()
+                .limit(limit)
+                .map(InMemoryPostRepository::toPost)
+                .collect(Collectors.toList());
+    }
+
+    // 보관은 post 테이블을 직접 지우므로 메모리 저장소와 함께 켤 수 없다. (MemoryStorageConfig 에서 막는다.)
+    @Override
+    public List<Post> getArchivable(LocalDateTime before, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public Map<Long, List<String>> getAllTags() {
+        return postStore.ascending().stream()
+                .filter(post -> !post.getTags().isEmpty())
+                .collect(Collectors.toMap(StoredPost::getId, StoredPost::getTags));
+    }
+
+    // 트랜잭션이 롤백되면 written 을 previous 로 되돌린다. 그 사이 다른 쓰기가 또 바꿨다면 그대로 둔다.
+    private void undoOnRollback(Long id, StoredPost written, StoredPost previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK && !postStore.replace(id, written, previous)) {
+                    log.warn("post changed again before rollback, not restored. id={}", id);
+                }
+            }
+        });
+    }
+
+    // 작성일, 수정일은 from 이상 to 미만
+    private static boolean matches(StoredPost post, PostSearch postSearch) {
+        return within(post.getCreatedAt(), postSearch.getCreatedFrom(), postSearch.getCreatedTo())
+                && within(post.getUpdatedAt(), postSearch.getUpdatedFrom(), postSearch.getUpdatedTo())
+                && (!StringUtils.hasText(postSearch.getTitlePrefix())
+                || (post.getTitle() != null && post.getTitle().startsWith(postSearch.getTitlePrefix())));
+    }
+
+    private static boolean within(LocalDateTime time, LocalDateTime from, LocalDateTime to) {
+        return (from == null || (time != null && !time.isBefore(from)))
+                && (to == null || (time != null && time.isBefore(to)));
+    }
+
+    private static StoredPost toStored(Post post) {
+        return StoredPost.builder()
+                .id(post.getId())
+                .version(post.getVersion())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .tags(post.getTags())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+
+    private static Post toPost(StoredPost stored) {
+        Post post = Post.builder()
+                .title(stored.getTitle())
+                .content(stored.getContent())
+                .build();
+        post.setId(stored.getId());
+        post.setVersion(stored.getVersion());
+        post.setTags(new LinkedHashSet<>(stored.getTags()));
+        post.restoreTimes(stored.getCreatedAt(), stored.getUpdatedAt());
+        return post;
+    }
+}
@@ -0,0 +1,8 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.Post;
+import org.springframework.data.repository.Repository;
+
+// PostRepository 의 메소드는 SimpleJpaRepository 와 JpaPostRepositoryImpl 이 구현한다.
+public interface JpaPostRepository extends Repository<Post, Long>, PostRepository {
+}
@@ -0,0 +1,108 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.Post;
+import com.blog.api.domain.PostListing;
+import com.blog.api.request.PostSearch;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.blog.api.domain.QComment.comment;
+import static com.blog.api.domain.QPost.post;
+import static com.blog.api.domain.QPostListing.postListing;
+import static com.querydsl.core.group.GroupBy.groupBy;
+import static com.querydsl.core.group.GroupBy.list;
+
+@RequiredArgsConstructor
+public class JpaPostRepositoryImpl implements PostRepositoryCustom {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    // post 테이블(LOB) 대신 목록 테이블(post_listing)에서 읽는다.
+    @Override
+    public List<PostListing> getList(PostSearch postSearch) {
+        return jpaQueryFactory.selectFrom(postListing)
+                .where(filter(postSearch))
+                .limit(postSearch.getLimit())
+                .offset(postSearch.getOffset())
+                .orderBy(postListing.id.desc())
+                .fetch();
+    }
+
+    @Override
+    public List<Post> getAllByIds(Collection<Long> ids) {
+        return jpaQueryFactory.selectFrom(post)
+                .where(post.id.in(ids))
+                .fetch();
+    }
+
+    @Override
+    public List<Long> getAllIds() {
+        return jpaQueryFactory.select(post.id)
+                .from(post)
+                .orderBy(post.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public List<Post> getAllAfter(Long afterId, int limit) {
+        return jpaQueryFactory.selectFrom(post)
+                .where(afterId == null ? null : post.id.gt(afterId))
+                .orderBy(post.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<Post> getArchivable(LocalDateTime before, int limit) {
+        return jpaQueryFactory.selectFrom(post)
+                .where(post.createdAt.lt(before),
+                        JPAExpressions.selectOne()
+                                .from(comment)
+                                .where(comment.postId.eq(post.id))
+                                .notExists())
+                .orderBy(post.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public Map<Long, List<String>> getAllTags() {
+        StringPath tag = Expressions.stringPath("tag");
+
+        return jpaQueryFactory.from(post)
+                .innerJoin(post.tags, tag)
+                .transform(groupBy(post.id).as(list(tag)));
+    }
+
+    // idx_post_listing_* 인덱스를 타도록 범위/접두어 조건만 사용한다.
+    private BooleanBuilder filter(PostSearch postSearch) {
+        BooleanBuilder where = new BooleanBuilder();
+
+        if (postSearch.getCreatedFrom() != null) {
+            where.and(postListing.createdAt.goe(postSearch.getCreatedFrom()));
+        }
+        if (postSearch.getCreatedTo() != null) {
+            where.and(postListing.createdAt.lt(postSearch.getCreatedTo()));
+        }
+        if (postSearch.getUpdatedFrom() != null) {
+            where.and(postListing.updatedAt.goe(postSearch.getUpdatedFrom()));
+        }
+        if (postSearch.getUpdatedTo() != null) {
+            where.and(postListing.updatedAt.lt(postSearch.getUpdatedTo()));
+        }
+        if (StringUtils.hasText(postSearch.getTitlePrefix())) {
+            where.and(postListing.title.startsWith(postSearch.getTitlePrefix()));
+        }
+        return where;
+    }
+}
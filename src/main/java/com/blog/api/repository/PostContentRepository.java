@@ -0,0 +1,95 @@
+package com.blog.api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 본문을 String 으로 만들지 않고 JDBC 문자 스트림 그대로 넘겨준다.
+ * 핸들러는 ResultSet 과 커넥션을 잡은 채로 불린다. 응답에 바로 쓰는 핸들러는 전송이 끝날 때까지 커넥션을 잡고 있으므로
+ * DB 동시 실행 한도(bulkhead) 안에서 불러야 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostContentRepository {
+
+    private static final String SELECT = "select id, version, title, content from post where id = ?";
+    private static final String LOCK = "select id, version from post where id in (%s) for update";
+    private static final String COMMENTED = "select distinct post_id from comment where post_id in (%s)";
+    private static final String DELETE_TAGS = "delete from post_tag where post_id = ?";
+    private static final String DELETE = "delete from post where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface ContentHandler {
+        void handle(Long id, Long version, String title, Reader content) throws IOException;
+    }
+
+    /**
+     * @return 글이 없으면 false
+     */
+    public boolean read(Long id, ContentHandler handler) {
+        Boolean found = jdbcTemplate.query(SELECT, rs -> {
+            if (!rs.next()) {
+                return false;
+            }
+            long version = rs.getLong("version");
+            Long nullableVersion = rs.wasNull() ? null : version;
+
+            try (Reader content = rs.getCharacterStream("content")) {
+                handler.handle(rs.getLong("id"), nullableVersion, rs.getString("title"), content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }, id);
+
+        return Boolean.TRUE.equals(found);
+    }
+
+    /**
+     * 보관 계층으로 옮긴 글을 이벤트 없이 지운다. 목록(post_listing)과 이력은 그대로 둔다.
+     * 그 사이 수정된 글(버전이 다른 글)과 댓글이 달린 글은 지우지 않고 DB 에 남겨 최신 내용을 읽게 한다.
+     *
+     * 글 행을 먼저 잠그므로 고른 뒤 지울 때까지 수정이 끼어들지 않고, 태그와 글을 같은 대상으로 지운다.
+     * 댓글은 글 행을 참조하지 않으므로 확인한 뒤에 달린 댓글은 보관된 글의 댓글로 남는다.
+     * 트랜잭션 안에서 불러야 한다.
+     *
+     * @param versions 글 ID → 보관한 버전
+     */
+    public void deleteArchived(Map<Long, Long> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+        Object[] ids = versions.keySet().toArray();
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+
+        Map<Long, Long> current = new HashMap<>();
+        jdbcTemplate.query(String.format(LOCK, placeholders),
+                (RowCallbackHandler) rs -> current.put(rs.getLong("id"), rs.getLong("version")), ids);
+        Set<Long> commented = new HashSet<>(
+                jdbcTemplate.queryForList(String.format(COMMENTED, placeholders), Long.class, ids));
+
+        List<Object[]> args = versions.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(current.get(entry.getKey())))
+                .filter(entry -> !commented.contains(entry.getKey()))
+                .map(entry -> new Object[]{entry.getKey()})
+                .collect(Collectors.toList());
+
+        jdbcTemplate.batchUpdate(DELETE_TAGS, args);
+        jdbcTemplate.batchUpdate(DELETE, args);
+    }
+}
@@ -0,0 +1,7 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.PostListing;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PostListingRepository extends JpaRepository<PostListing, Long> {
+}
@@ -1,7 +1,36 @@
 package com.blog.api.repository;
 
 import com.blog.api.domain.Post;
-import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 서비스가 쓰는 글 저장소 기능만 모은 것
+ *
+ * blog.storage.type 에 따라 JpaPostRepository(Spring Data JPA) 또는 InMemoryPostRepository 가 구현한다.
+ * 두 구현 모두 버전이 다르면 ObjectOptimisticLockingFailureException 을 던지고,
+ * save, delete 후에 PostChanged 를 발행한다. (deleteAll 은 발행하지 않는다.)
+ */
+public interface PostRepository extends PostRepositoryCustom {
+
+    <S extends Post> S save(S post);
+
+    <S extends Post> List<S> saveAll(Iterable<S> posts);
+
+    // 버전 검사를 바로 한다.
+    <S extends Post> S saveAndFlush(S post);
+
+    Optional<Post> findById(Long id);
+
+    boolean existsById(Long id);
+
+    // ID 오름차순이 아닐 수 있다.
+    List<Post> findAll();
+
+    long count();
+
+    void delete(Post post);
+
+    void deleteAll();
 }
@@ -1,11 +1,31 @@
 package com.blog.api.repository;
 
 import com.blog.api.domain.Post;
+import com.blog.api.domain.PostListing;
 import com.blog.api.request.PostSearch;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface PostRepositoryCustom {
 
-    List<Post> getList(PostSearch postSearch);
+    // 목록 조회, ID 내림차순
+    List<PostListing> getList(PostSearch postSearch);
+
+    // 순서는 보장하지 않는다.
+    List<Post> getAllByIds(Collection<Long> ids);
+
+    // ID 오름차순
+    List<Long> getAllIds();
+
+    // afterId 다음부터(null 이면 처음부터) limit 개, ID 오름차순. 전체를 나눠 읽을 때 쓴다.
+    List<Post> getAllAfter(Long afterId, int limit);
+
+    // before 이전에 작성했고 댓글이 없는 글, ID 오름차순
+    List<Post> getArchivable(LocalDateTime before, int limit);
+
+    // 글 ID 별 태그, 태그가 없는 글은 빠진다.
+    Map<Long, List<String>> getAllTags();
 }
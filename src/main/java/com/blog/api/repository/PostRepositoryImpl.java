@@ -1,25 +0,0 @@
-package com.blog.api.repository;
-
-import com.blog.api.domain.Post;
-import com.blog.api.request.PostSearch;
-import com.querydsl.jpa.impl.JPAQueryFactory;
-import lombok.RequiredArgsConstructor;
-
-import java.util.List;
-
-import static com.blog.api.domain.QPost.post;
-
-@RequiredArgsConstructor
-public class PostRepositoryImpl implements PostRepositoryCustom{
-
-    private final JPAQueryFactory jpaQueryFactory;
-
-    @Override
-    public List<Post> getList(PostSearch postSearch) {
-        return jpaQueryFactory.selectFrom(post)
-                .limit(postSearch.getSize())
-                .offset(postSearch.getOffset())
-                .orderBy(post.id.desc())
-                .fetch();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.blog.api.repository;
+
+import com.blog.api.domain.PostRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PostRevisionRepository extends JpaRepository<PostRevision, Long> {
+
+    Optional<PostRevision> findTopByPostIdOrderByRevisionDesc(Long postId);
+
+    List<PostRevision> findByPostIdOrderByRevisionDesc(Long postId);
+
+    // revision 이하에서 가장 가까운 스냅샷
+    Optional<PostRevision> findTopByPostIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(Long postId, Integer revision);
+
+    List<PostRevision> findByPostIdAndRevisionBetweenOrderByRevisionAsc(Long postId, Integer from, Integer to);
+
+    void deleteByPostId(Long postId);
+}
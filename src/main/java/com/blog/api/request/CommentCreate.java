@@ -0,0 +1,28 @@
+package com.blog.api.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+@Setter
+@Getter
+@ToString
+public class CommentCreate {
+
+    @NotBlank(message = "작성자를 입력해주세요.")
+    private String author;
+
+    @NotBlank(message = "내용을 입력해주세요.")
+    @Size(max = 1000, message = "댓글은 1000자까지 입력할 수 있습니다.")
+    private String content;
+
+    @Builder
+    public CommentCreate(String author, String content) {
+        this.author = author;
+        this.content = content;
+    }
+}
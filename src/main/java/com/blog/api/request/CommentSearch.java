@@ -0,0 +1,31 @@
+package com.blog.api.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+@Getter
+@Setter
+@Builder
+public class CommentSearch {
+
+    private static final int MAX_SIZE = 100;
+
+    @Builder.Default
+    private Integer page = 1;
+
+    @Builder.Default
+    private Integer size = 20;
+
+    // 바인딩 시 빠진 값은 null 로 들어오므로 기본값으로 본다.
+    public int getLimit() {
+        return size == null ? 20 : min(max(1, size), MAX_SIZE);
+    }
+
+    public long getOffset() {
+        return page == null ? 0 : (long) (max(1, page) - 1) * getLimit();
+    }
+}
@@ -6,6 +6,9 @@ import lombok.Setter;
 import lombok.ToString;
 
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Setter
 @Getter
@@ -18,9 +21,13 @@ public class PostEdit {
     @NotBlank(message = "콘텐츠를 입력해주세요.")
     private String content;
 
+    @Size(max = 10, message = "태그는 10개까지 입력할 수 있습니다.")
+    private List<@Pattern(regexp = "[\\p{L}\\p{N}_-]{1,30}", message = "태그는 30자 이하의 문자, 숫자, _, - 만 사용할 수 있습니다.") String> tags;
+
     @Builder
-    public PostEdit(String title, String content) {
+    public PostEdit(String title, String content, List<String> tags) {
         this.title = title;
         this.content = content;
+        this.tags = tags;
     }
 }
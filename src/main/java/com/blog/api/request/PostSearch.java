@@ -3,6 +3,9 @@ package com.blog.api.request;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
 
 import static java.lang.Math.max;
 import static java.lang.Math.min;
@@ -13,6 +16,7 @@ import static java.lang.Math.min;
 public class PostSearch {
 
     private static final int Max_size = 2000;
+    private static final int Max_comment_size = 10;
 
     @Builder.Default
     private Integer page = 1;
@@ -20,7 +24,38 @@ public class PostSearch {
     @Builder.Default
     private Integer size = 10;
 
+    // 작성일 createdFrom 이상 createdTo 미만
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    // 수정일 updatedFrom 이상 updatedTo 미만
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    private String titlePrefix;
+
+    // 태그 검색식, 예) "java AND performance NOT draft"
+    private String tags;
+
+    // 글마다 함께 내려줄 댓글 수, 0 이면 댓글을 조회하지 않는다.
+    @Builder.Default
+    private Integer commentSize = 0;
+
+    public int getCommentLimit() {
+        return commentSize == null ? 0 : max(0, min(commentSize, Max_comment_size));
+    }
+
+    public int getLimit() {
+        return min(size, Max_size);
+    }
+
     public long getOffset() {
-        return (long) (max(1, page) - 1) * min(size, Max_size);
+        return (long) (max(1, page) - 1) * getLimit();
     }
 }
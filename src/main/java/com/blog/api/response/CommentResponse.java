@@ -0,0 +1,25 @@
+package com.blog.api.response;
+
+import com.blog.api.domain.Comment;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class CommentResponse {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long id;
+    private final String author;
+    private final String content;
+    private final LocalDateTime createdAt;
+
+    public CommentResponse(Comment comment) {
+        this.id = comment.getId();
+        this.author = comment.getAuthor();
+        this.content = comment.getContent();
+        this.createdAt = comment.getCreatedAt();
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog.api.response;
+
+import com.blog.api.domain.PostListing;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+
+@Getter
+public class PopularPostResponse {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long id;
+    private final String title;
+    private final double score;
+
+    public PopularPostResponse(PostListing postListing, double score) {
+        this.id = postListing.getId();
+        this.title = postListing.getTitle();
+        this.score = score;
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.api.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * {
+ *     "posts": [{"id": "3", ...}, {"id": "1", ...}],
+ *     "missing": ["2"]
+ * }
+ */
+@Getter
+public class PostBatchResponse {
+
+    private final List<PostResponse> posts;
+    @JsonSerialize(contentUsing = ToStringSerializer.class)
+    private final List<Long> missing;
+
+    public PostBatchResponse(List<PostResponse> posts, List<Long> missing) {
+        this.posts = posts;
+        this.missing = missing;
+    }
+}
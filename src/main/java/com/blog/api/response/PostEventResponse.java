@@ -0,0 +1,33 @@
+package com.blog.api.response;
+
+import com.blog.api.domain.PostChanged;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * {
+ *     "type": "CREATED",
+ *     "postId": "1",
+ *     "title": "제목",
+ *     "occurredAt": "2023-01-01T00:00:00"
+ * }
+ */
+@Getter
+public class PostEventResponse {
+
+    private final PostChanged.Type type;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long postId;
+    private final String title;
+    private final LocalDateTime occurredAt;
+
+    public PostEventResponse(PostChanged event) {
+        this.type = event.getType();
+        this.postId = event.getPostId();
+        this.title = event.getType() == PostChanged.Type.DELETED ? null : event.getTitle();
+        this.occurredAt = event.getOccurredAt();
+    }
+}
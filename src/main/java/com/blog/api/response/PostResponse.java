@@ -1,29 +1,78 @@
 package com.blog.api.response;
 
 import com.blog.api.domain.Post;
+import com.blog.api.domain.PostListing;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Builder;
 import lombok.Getter;
+
+import java.util.List;
 /**
  *  서비스 정책에 맞는 클래스
  */
 @Getter
 public class PostResponse {
 
+    // Snowflake ID 는 2^53 을 넘어 JavaScript 숫자로는 끝자리가 바뀌므로 문자열로 내려준다.
+    @JsonSerialize(using = ToStringSerializer.class)
     private final Long id;
     private final String title;
     private final String content;
 
+    // 응답 본문 대신 ETag 헤더로 내려준다.
+    @JsonIgnore
+    private final Long version;
+
+    // 목록 조회에서 commentSize 를 지정했을 때만 채운다.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long commentCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final List<CommentResponse> comments;
+
     // 생성자 오버로딩
     public PostResponse(Post post) {
         this.id = post.getId();
         this.title = post.title;
         this.content = post.content;
+        this.version = post.getVersion();
+        this.commentCount = null;
+        this.comments = null;
+    }
+
+    // 목록 조회용, content 는 본문 앞부분(excerpt)
+    public PostResponse(PostListing postListing) {
+        this.id = postListing.getId();
+        this.title = postListing.getTitle();
+        this.content = postListing.getExcerpt();
+        this.version = null;
+        this.commentCount = null;
+        this.comments = null;
     }
 
     @Builder
-    public PostResponse(Long id, String title, String content) {
+    public PostResponse(Long id, String title, String content, Long version) {
         this.id = id;
         this.title = title.substring(0, Math.min(title.length(), 10));
         this.content = content;
+        this.version = version;
+        this.commentCount = null;
+        this.comments = null;
+    }
+
+    private PostResponse(PostResponse source, Long commentCount, List<CommentResponse> comments) {
+        this.id = source.id;
+        this.title = source.title;
+        this.content = source.content;
+        this.version = source.version;
+        this.commentCount = commentCount;
+        this.comments = comments;
+    }
+
+    public PostResponse withComments(long commentCount, List<CommentResponse> comments) {
+        return new PostResponse(this, commentCount, comments);
     }
 }
@@ -0,0 +1,34 @@
+package com.blog.api.response;
+
+import com.blog.api.domain.PostRevision;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostRevisionResponse {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long postId;
+    private final Integer revision;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+
+    // 목록 조회용 (본문 제외)
+    public PostRevisionResponse(PostRevision revision) {
+        this(revision, null);
+    }
+
+    public PostRevisionResponse(PostRevision revision, String content) {
+        this.postId = revision.getPostId();
+        this.revision = revision.getRevision();
+        this.title = revision.getTitle();
+        this.content = content;
+        this.createdAt = revision.getCreatedAt();
+    }
+}
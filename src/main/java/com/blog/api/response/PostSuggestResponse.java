@@ -0,0 +1,15 @@
+package com.blog.api.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class PostSuggestResponse {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long id;
+    private final String title;
+}
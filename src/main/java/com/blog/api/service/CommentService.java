@@ -0,0 +1,87 @@
+package com.blog.api.service;
+
+import com.blog.api.archive.PostArchive;
+import com.blog.api.domain.Comment;
+import com.blog.api.exception.PostNotFound;
+import com.blog.api.repository.CommentRepository;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.request.CommentCreate;
+import com.blog.api.request.CommentSearch;
+import com.blog.api.response.CommentResponse;
+import com.blog.api.response.PostResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CommentService {
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final PostArchive postArchive;
+
+    // 보관 계층으로 옮긴 글에도 댓글을 달 수 있다.
+    @Transactional
+    public void write(Long postId, CommentCreate commentCreate) {
+        checkExists(postId);
+
+        Comment comment = Comment.builder()
+                .author(commentCreate.getAuthor())
+                .content(commentCreate.getContent())
+                .postId(postId)
+                .build();
+
+        commentRepository.save(comment);
+    }
+
+    public List<CommentResponse> getList(Long postId, CommentSearch commentSearch) {
+        checkExists(postId);
+
+        return commentRepository.getList(postId, commentSearch).stream()
+                .map(CommentResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 글 목록 한 페이지에 댓글 수와 먼저 달린 댓글 limit 개를 붙인다.
+     * 글 수와 상관없이 집계 쿼리 한 번, 댓글 쿼리 한 번만 실행한다.
+     */
+    public List<PostResponse> attach(List<PostResponse> posts, int limit) {
+        if (posts.isEmpty() || limit <= 0) {
+            return posts;
+        }
+
+        List<Long> postIds = posts.stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, Long> counts = commentRepository.countByPostIds(postIds);
+        Map<Long, List<CommentResponse>> comments = commentRepository.getFirstByPostIds(postIds, limit).stream()
+                .collect(Collectors.groupingBy(Comment::getPostId,
+                        Collectors.mapping(CommentResponse::new, Collectors.toList())));
+
+        List<PostResponse> result = new ArrayList<>(posts.size());
+        for (PostResponse post : posts) {
+            result.add(post.withComments(counts.getOrDefault(post.getId(), 0L),
+                    comments.getOrDefault(post.getId(), List.of())));
+        }
+        return result;
+    }
+
+    @Transactional
+    public void deleteAll(Long postId) {
+        commentRepository.deleteByPostId(postId);
+    }
+
+    private void checkExists(Long postId) {
+        if (!postRepository.existsById(postId) && !postArchive.contains(postId)) {
+            throw new PostNotFound();
+        }
+    }
+}
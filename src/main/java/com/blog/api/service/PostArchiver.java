@@ -0,0 +1,97 @@
+package com.blog.api.service;
+
+import com.blog.api.archive.ArchivedPost;
+import com.blog.api.archive.PostArchive;
+import com.blog.api.domain.Post;
+import com.blog.api.repository.PostContentRepository;
+import com.blog.api.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 오래된 글을 post 테이블에서 보관 세그먼트로 옮긴다.
+ *
+ * 세그먼트를 먼저 fsync 해서 쓴 다음 DB 에서 지우므로, 중간에 멈춰도 글이 사라지지 않는다.
+ * (그 경우 다음 실행에서 같은 글이 새 세그먼트에 한 번 더 들어가지만 읽기 결과는 같다.)
+ * 목록(post_listing)과 태그 인덱스는 그대로 두므로 목록 조회는 두 계층을 함께 보여준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostArchiver {
+
+    private final PostRepository postRepository;
+    private final PostContentRepository postContentRepository;
+    private final PostArchive postArchive;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${blog.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${blog.archive.after-days:365}")
+    private int afterDays;
+
+    @Value("${blog.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${blog.archive.cron:0 30 3 * * *}")
+    public void archiveOldPosts() {
+        if (!enabled) {
+            return;
+        }
+        archive(LocalDateTime.now().minusDays(afterDays));
+    }
+
+    /**
+     * @return 옮긴 글 수
+     */
+    public int archive(LocalDateTime before) {
+        int total = 0;
+        while (true) {
+            List<ArchivedPost> posts = transactionTemplate.execute(status ->
+                    postRepository.getArchivable(before, batchSize).stream()
+                            .map(PostArchiver::toArchived)
+                            .collect(Collectors.toList()));
+            if (posts == null || posts.isEmpty()) {
+                break;
+            }
+
+            postArchive.add(posts);
+            Map<Long, Long> versions = posts.stream()
+                    .collect(Collectors.toMap(ArchivedPost::getId, ArchivedPost::getVersion));
+            transactionTemplate.executeWithoutResult(status -> postContentRepository.deleteArchived(versions));
+
+            total += posts.size();
+            if (posts.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("posts archived. count={}, before={}", total, before);
+        }
+        return total;
+    }
+
+    private static ArchivedPost toArchived(Post post) {
+        return ArchivedPost.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .version(post.getVersion())
+                .tags(new LinkedHashSet<>(post.getTags()))
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+}
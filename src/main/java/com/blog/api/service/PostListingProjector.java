@@ -0,0 +1,68 @@
+package com.blog.api.service;
+
+import com.blog.api.domain.Post;
+import com.blog.api.domain.PostChanged;
+import com.blog.api.domain.PostListing;
+import com.blog.api.repository.PostListingRepository;
+import com.blog.api.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * post 테이블의 변경을 post_listing 테이블에 반영한다.
+ * 글을 저장한 트랜잭션 안에서 동기로 실행되므로 목록은 항상 최신 상태다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostListingProjector {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PostListingRepository postListingRepository;
+    private final PostRepository postRepository;
+
+    @EventListener
+    public void on(PostChanged event) {
+        if (event.getType() == PostChanged.Type.DELETED) {
+            postListingRepository.findById(event.getPostId())
+                    .ifPresent(postListingRepository::delete);
+            return;
+        }
+        postListingRepository.save(PostListing.from(event));
+    }
+
+    /**
+     * 목록 테이블이 비어 있으면(처음 배포 등) post 테이블에서 다시 만든다.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (postListingRepository.count() > 0 || postRepository.count() == 0) {
+            return;
+        }
+
+        long count = 0;
+        Long lastId = null;
+        List<Post> batch;
+        do {
+            batch = postRepository.getAllAfter(lastId, REBUILD_BATCH_SIZE);
+            postListingRepository.saveAll(batch.stream()
+                    .map(PostListing::from)
+                    .collect(Collectors.toList()));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            count += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        log.info("post_listing rebuilt. count={}", count);
+    }
+}
@@ -0,0 +1,112 @@
+package com.blog.api.service;
+
+import com.blog.api.archive.PostArchive;
+import com.blog.api.domain.Post;
+import com.blog.api.domain.PostRevision;
+import com.blog.api.exception.PostNotFound;
+import com.blog.api.exception.PostRevisionNotFound;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.repository.PostRevisionRepository;
+import com.blog.api.response.PostRevisionResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 수정 이력은 직전 버전과의 차이만 저장하고, 마지막 스냅샷에서 snapshotInterval 번째 이력마다 전체 스냅샷을 남긴다.
+ * 어떤 버전이든 그 이하의 가장 가까운 스냅샷에서 차이를 차례로 적용하면 복원된다.
+ * 스냅샷 위치는 저장된 이력에서 찾으므로 snapshotInterval 을 바꿔도 이전 이력을 그대로 읽을 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostRevisionService {
+
+    private final PostRevisionRepository postRevisionRepository;
+    private final PostRepository postRepository;
+    private final PostArchive postArchive;
+
+    @Value("${blog.revision.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    @Transactional
+    public void recordCreated(Post post) {
+        postRevisionRepository.save(PostRevision.snapshot(post.getId(), 1, post.getTitle(), post.getContent()));
+    }
+
+    @Transactional
+    public void recordEdited(Post post, String previousTitle, String previousContent) {
+        // 제목, 본문이 그대로면(태그만 수정 등) 빈 이력을 남기지 않는다.
+        if (Objects.equals(post.getTitle(), previousTitle) && Objects.equals(post.getContent(), previousContent)) {
+            return;
+        }
+
+        int latest = postRevisionRepository.findTopByPostIdOrderByRevisionDesc(post.getId())
+                .map(PostRevision::getRevision)
+                .orElseGet(() -> {
+                    // 이력 기능 이전에 작성된 글은 수정 전 상태를 첫 스냅샷으로 남긴다.
+                    postRevisionRepository.save(PostRevision.snapshot(post.getId(), 1, previousTitle, previousContent));
+                    return 1;
+                });
+
+        int revision = latest + 1;
+        int lastSnapshot = postRevisionRepository
+                .findTopByPostIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(post.getId(), latest)
+                .map(PostRevision::getRevision)
+                .orElse(0);
+        PostRevision postRevision = revision - lastSnapshot >= snapshotInterval
+                ? PostRevision.snapshot(post.getId(), revision, post.getTitle(), post.getContent())
+                : PostRevision.delta(post.getId(), revision, post.getTitle(), previousContent, post.getContent());
+
+        try {
+            postRevisionRepository.saveAndFlush(postRevision);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 글을 동시에 수정해 같은 이력 번호를 잡았다. 버전 충돌처럼 재시도하거나 409 로 응답한다.
+            throw new ObjectOptimisticLockingFailureException(PostRevision.class, post.getId(), e);
+        }
+    }
+
+    @Transactional
+    public void deleteAll(Long postId) {
+        postRevisionRepository.deleteByPostId(postId);
+    }
+
+    /**
+     * 이력이 없는 글(이력 기능 이전에 작성된 뒤 수정하지 않은 글)은 빈 목록, 글이 없으면 PostNotFound
+     */
+    public List<PostRevisionResponse> getList(Long postId) {
+        List<PostRevision> revisions = postRevisionRepository.findByPostIdOrderByRevisionDesc(postId);
+        if (revisions.isEmpty() && !postRepository.existsById(postId) && !postArchive.contains(postId)) {
+            throw new PostNotFound();
+        }
+        return revisions.stream()
+                .map(PostRevisionResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    public PostRevisionResponse get(Long postId, int revision) {
+        PostRevision snapshot = postRevisionRepository
+                .findTopByPostIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(postId, revision)
+                .orElseThrow(PostRevisionNotFound::new);
+        List<PostRevision> chain = postRevisionRepository.findByPostIdAndRevisionBetweenOrderByRevisionAsc(
+                postId, snapshot.getRevision(), revision);
+
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevision() != revision) {
+            throw new PostRevisionNotFound();
+        }
+
+        String content = null;
+        for (PostRevision postRevision : chain) {
+            content = postRevision.apply(content);
+        }
+        return new PostRevisionResponse(chain.get(chain.size() - 1), content);
+    }
+}
@@ -1,19 +1,53 @@
 package com.blog.api.service;
 
+import com.blog.api.archive.ArchivedPost;
+import com.blog.api.archive.PostArchive;
 import com.blog.api.domain.Post;
+import com.blog.api.domain.PostChanged;
 import com.blog.api.domain.PostEditor;
+import com.blog.api.domain.PostListing;
+import com.blog.api.duplicate.NearDuplicateDetector;
+import com.blog.api.exception.InvalidRequest;
+import com.blog.api.exception.PostArchived;
+import com.blog.api.exception.PostConflict;
 import com.blog.api.exception.PostNotFound;
+import com.blog.api.json.Utf8JsonWriter;
+import com.blog.api.popular.PopularPosts;
+import com.blog.api.repository.PostContentRepository;
+import com.blog.api.repository.PostListingRepository;
 import com.blog.api.repository.PostRepository;
 import com.blog.api.request.PostCreate;
 import com.blog.api.request.PostEdit;
 import com.blog.api.request.PostSearch;
+import com.blog.api.response.PopularPostResponse;
+import com.blog.api.response.PostBatchResponse;
 import com.blog.api.response.PostResponse;
+import com.blog.api.response.PostSuggestResponse;
+import com.blog.api.suggest.TitleSuggester;
+import com.blog.api.tag.TagExpression;
+import com.blog.api.tag.TagIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,53 +55,320 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PostService {
 
+    public static final int MAX_BATCH_SIZE = 100;
+    public static final int MAX_POPULAR_SIZE = 50;
+
+    private static final byte[] ID = Utf8JsonWriter.name("id");
+    private static final byte[] TITLE = Utf8JsonWriter.name("title");
+    private static final byte[] CONTENT = Utf8JsonWriter.name("content");
+
     private final PostRepository postRepository;
+    private final PostListingRepository postListingRepository;
+    private final PostContentRepository postContentRepository;
+    private final PostRevisionService postRevisionService;
+    private final CommentService commentService;
+    private final TagIndex tagIndex;
+    private final PostArchive postArchive;
+    private final PopularPosts popularPosts;
+    private final TitleSuggester titleSuggester;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
+    @Value("${blog.edit.max-attempts:5}")
+    private int maxEditAttempts;
+
+    @Transactional
     public void write(PostCreate postCreate) {
+        rejectNearDuplicate(postCreate.getContent());
+
         Post post = Post.builder()
                 .title(postCreate.getTitle())
                 .content(postCreate.getContent())
+                .tags(postCreate.getTags())
                 .build();
 
         postRepository.save(post);
+        postRevisionService.recordCreated(post);
+    }
+
+    // 색인은 커밋 후에 갱신되므로 후보 글이 아직 있는지 확인하고 거절한다.
+    private void rejectNearDuplicate(String content) {
+        for (Long id : nearDuplicateDetector.findSimilar(content)) {
+            if (postRepository.existsById(id)) {
+                throw new InvalidRequest("content", "이미 등록된 글과 거의 같은 내용입니다.");
+            }
+        }
     }
 
+    /**
+     * post 테이블에 없으면 보관 계층에서 찾는다.
+     */
     public PostResponse get(Long id) {
-        Post post = postRepository.findById(id)
+        PostResponse response = postRepository.findById(id)
+                .map(PostService::toResponse)
+                .or(() -> postArchive.find(id).map(PostService::toResponse))
                 .orElseThrow(PostNotFound::new);
 
-        return PostResponse.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .content(post.getContent())
-                .build();
+        popularPosts.record(id);
+        return response;
+    }
+
+    /**
+     * 최근 많이 읽힌 글, 점수는 반감기를 적용한 조회 수 추정치다.
+     */
+    public List<PopularPostResponse> getPopular(int size) {
+        if (size < 1 || size > MAX_POPULAR_SIZE) {
+            throw new InvalidRequest("size", "1 ~ " + MAX_POPULAR_SIZE + " 사이로 입력해주세요.");
+        }
+
+        List<PopularPosts.Popularity> top = popularPosts.top(size);
+        Map<Long, PostListing> found = postListingRepository.findAllById(top.stream()
+                        .map(PopularPosts.Popularity::getPostId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(PostListing::getId, Function.identity()));
 
+        List<PopularPostResponse> posts = new ArrayList<>(top.size());
+        for (PopularPosts.Popularity popularity : top) {
+            PostListing listing = found.get(popularity.getPostId());
+            if (listing != null) {
+                posts.add(new PopularPostResponse(listing, popularity.getScore()));
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * get 과 같은 JSON 을 DB 문자 스트림에서 바로 UTF-8 로 인코딩해 응답에 쓴다.
+     * 본문 String, PostResponse, Jackson 직렬화, 응답 전체를 담는 버퍼 없이 Utf8JsonWriter 의 고정 크기 버퍼만 거치므로
+     * 글이 커져도 요청당 힙 사용량이 늘지 않는다. 버전(ETag)은 행을 읽자마자 알 수 있어 첫 바이트 전에 output 을 연다.
+     * 응답을 쓰는 동안 커넥션을 잡고 있으므로 bulkhead 의 DB 동시 실행 한도(blog.db-limit) 안에서 부른다.
+     */
+    public void writeJson(Long id, RawOutput output) {
+        boolean found = postContentRepository.read(id, (postId, version, title, content) -> {
+            new Utf8JsonWriter(output.open(version))
+                    .beginObject()
+                    .field(ID).valueAsString(postId)
+                    .field(TITLE).value(title.substring(0, Math.min(title.length(), 10)))
+                    .field(CONTENT).value(content)
+                    .endObject()
+                    .flush();
+        });
+
+        if (!found) {
+            ArchivedPost archived = postArchive.find(id)
+                    .orElseThrow(PostNotFound::new);
+            try {
+                new Utf8JsonWriter(output.open(archived.getVersion()))
+                        .beginObject()
+                        .field(ID).valueAsString(archived.getId())
+                        .field(TITLE).value(archived.getTitle().substring(0, Math.min(archived.getTitle().length(), 10)))
+                        .field(CONTENT).value(archived.getContent())
+                        .endObject()
+                        .flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        popularPosts.record(id);
+    }
+
+    @FunctionalInterface
+    public interface RawOutput {
+        OutputStream open(Long version) throws IOException;
+    }
+
+    /**
+     * 여러 글을 IN 쿼리 한 번으로 조회한다.
+     * 요청한 순서대로 돌려주고, 없는 글은 missing 으로 따로 알려준다.
+     */
+    public PostBatchResponse getAll(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequest("ids", "한 번에 최대 " + MAX_BATCH_SIZE + "개까지 조회할 수 있습니다.");
+        }
+        if (requested.isEmpty()) {
+            return new PostBatchResponse(List.of(), List.of());
+        }
+
+        Map<Long, Post> found = postRepository.getAllByIds(requested).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<PostResponse> posts = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Post post = found.get(id);
+            if (post != null) {
+                posts.add(toResponse(post));
+                continue;
+            }
+            postArchive.find(id).ifPresentOrElse(
+                    archived -> posts.add(toResponse(archived)),
+                    () -> missing.add(id));
+        }
+        return new PostBatchResponse(posts, missing);
+    }
+
+    public List<PostSuggestResponse> suggest(String query, int size) {
+        if (size < 1 || size > TitleSuggester.MAX_SIZE) {
+            throw new InvalidRequest("size", "1 ~ " + TitleSuggester.MAX_SIZE + " 사이로 입력해주세요.");
+        }
+        return titleSuggester.suggest(query, size);
     }
 
     public List<PostResponse> getList(PostSearch postSearch) {
-        return postRepository.getList(postSearch).stream()
+        List<PostResponse> posts = StringUtils.hasText(postSearch.getTags())
+                ? getListByTags(postSearch)
+                : postRepository.getList(postSearch).stream()
+                        .map(PostResponse::new)
+                        .collect(Collectors.toList());
+
+        return commentService.attach(posts, postSearch.getCommentLimit());
+    }
+
+    /**
+     * 태그 검색은 DB 조인 대신 TagIndex 의 비트맵 연산으로 페이지의 ID 를 구하고
+     * 목록 테이블에서 IN 쿼리 한 번으로 읽는다. 다른 검색 조건과 함께 쓸 수 없다.
+     */
+    private List<PostResponse> getListByTags(PostSearch postSearch) {
+        if (postSearch.getCreatedFrom() != null || postSearch.getCreatedTo() != null
+                || postSearch.getUpdatedFrom() != null || postSearch.getUpdatedTo() != null
+                || StringUtils.hasText(postSearch.getTitlePrefix())) {
+            throw new InvalidRequest("tags", "태그 검색은 다른 검색 조건과 함께 사용할 수 없습니다.");
+        }
+
+        List<Long> ids = tagIndex.search(TagExpression.parse(postSearch.getTags()),
+                postSearch.getOffset(), postSearch.getLimit());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PostListing> found = postListingRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(PostListing::getId, Function.identity()));
+
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
                 .map(PostResponse::new)
                 .collect(Collectors.toList());
     }
 
-    @Transactional
     public void edit(Long id, PostEdit postEdit) {
+        edit(id, postEdit, null);
+    }
+
+    /**
+     * expectedVersion(If-Match)이 있으면 그 버전일 때만 수정하고, 아니면 바로 409 를 던진다.
+     * 없으면 다른 사용자가 먼저 수정한 경우에도 수정하려는 필드가 처음 읽은 값 그대로라면
+     * 최신 상태를 다시 읽어 최대 maxEditAttempts 번까지 재시도한다.
+     */
+    public void edit(Long id, PostEdit postEdit, Long expectedVersion) {
+        AtomicReference<PostEditor> original = new AtomicReference<>();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> editOnce(id, postEdit, expectedVersion, original));
+                return;
+            } catch (ConcurrencyFailureException e) {
+                if (expectedVersion != null || attempt >= maxEditAttempts) {
+                    throw new PostConflict(e);
+                }
+                log.debug("게시글 수정 충돌, 재시도합니다. id={}, attempt={}", id, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void editOnce(Long id, PostEdit postEdit, Long expectedVersion, AtomicReference<PostEditor> original) {
         Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFound::new);
+                .orElseThrow(() -> postArchive.contains(id) ? new PostArchived() : new PostNotFound());
+
+        if (expectedVersion != null && !expectedVersion.equals(post.getVersion())) {
+            throw new PostConflict();
+        }
+        if (!original.compareAndSet(null, post.toEditor().build()) && conflicts(original.get(), post, postEdit)) {
+            throw new PostConflict();
+        }
+
+        String previousTitle = post.getTitle();
+        String previousContent = post.getContent();
 
         PostEditor.PostEditorBuilder editorBuilder = post.toEditor();
 
         PostEditor postEditor = editorBuilder.title(postEdit.getTitle())
                 .content(postEdit.getContent())
+                .tags(postEdit.getTags())
                 .build();
 
         post.edit(postEditor);
+        // 버전 검사(UPDATE)를 이력 INSERT 보다 먼저 하도록 바로 flush 한다. PostChanged(EDITED) 발행
+        postRepository.saveAndFlush(post);
+        postRevisionService.recordEdited(post, previousTitle, previousContent);
+    }
+
+    // 처음 읽은 뒤 다른 사용자가 수정하려는 필드를 다른 값으로 바꿨다면 충돌이다.
+    private static boolean conflicts(PostEditor original, Post current, PostEdit postEdit) {
+        return changed(postEdit.getTitle(), original.getTitle(), current.getTitle())
+                || changed(postEdit.getContent(), original.getContent(), current.getContent());
+    }
+
+    private static boolean changed(String requested, String original, String current) {
+        return requested != null
+                && !Objects.equals(original, current)
+                && !Objects.equals(requested, current);
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PostConflict(e);
+        }
     }
 
+    /**
+     * 보관된 글은 세그먼트를 고치지 않고 삭제 표시(tombstone)만 남긴다.
+     * 보관 뒤 DB 에 남은 글(보관 중 수정된 글)을 지울 때도 보관본에 삭제 표시를 남겨 다시 읽히지 않게 한다.
+     */
+    @Transactional
     public void delete(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFound::new);
+        Post post = postRepository.findById(id).orElse(null);
+        if (post != null) {
+            postRepository.delete(post);
+            postArchive.delete(id);
+        } else {
+            ArchivedPost archived = postArchive.find(id)
+                    .orElseThrow(PostNotFound::new);
+            postArchive.delete(id);
+            eventPublisher.publishEvent(PostChanged.builder()
+                    .type(PostChanged.Type.DELETED)
+                    .postId(id)
+                    .title(archived.getTitle())
+                    .content(archived.getContent())
+                    .createdAt(archived.getCreatedAt())
+                    .updatedAt(archived.getUpdatedAt())
+                    .build());
+        }
+        postRevisionService.deleteAll(id);
+        commentService.deleteAll(id);
+    }
+
+    private static PostResponse toResponse(ArchivedPost post) {
+        return PostResponse.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .version(post.getVersion())
+                .build();
+    }
 
-        postRepository.delete(post);
+    private static PostResponse toResponse(Post post) {
+        return PostResponse.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .version(post.getVersion())
+                .build();
     }
 }
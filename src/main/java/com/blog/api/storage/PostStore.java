@@ -0,0 +1,482 @@
+package com.blog.api.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * JPA 없이 글을 메모리에 두는 저장소
+ *
+ * 글은 ID 순으로 정렬된 ConcurrentSkipListMap 에 바꿀 수 없는 StoredPost 로 두므로 읽기는 잠그지 않는다.
+ * 쓰기는 한 번에 하나씩(synchronized) 먼저 WAL("{세대}.wal")에 추가한 뒤 메모리에 반영한다.
+ *
+ * snapshot() 은 새 세대의 WAL 로 넘어간 뒤 전체 글을 "snapshot" 파일로 쓰고(임시 파일 → rename)
+ * 그 이전 세대의 WAL 을 지운다. 스냅샷을 쓰는 동안의 쓰기는 새 WAL 에 남고,
+ * WAL 레코드는 글 전체(또는 삭제)를 담고 있어 스냅샷 위에 다시 적용해도 결과가 같다.
+ * 재시작시 스냅샷을 읽고 그 세대 이후의 WAL 을 순서대로 적용한다. 체크섬이 맞지 않는 레코드부터는 버린다.
+ *
+ * 레코드: | int length | int crc32 | body(length) |
+ * body: | byte type | long id | (PUT) long version | title | content | createdAt | updatedAt | tags |
+ */
+@Slf4j
+public class PostStore implements AutoCloseable {
+
+    private static final String WAL_SUFFIX = ".wal";
+    private static final String SNAPSHOT = "snapshot";
+
+    private static final byte PUT = 0;
+    private static final byte REMOVE = 1;
+    private static final byte CLEAR = 2;
+
+    private static final long NULL_VERSION = Long.MIN_VALUE;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private final ConcurrentSkipListMap<Long, StoredPost> posts = new ConcurrentSkipListMap<>();
+    private final Object snapshotLock = new Object();
+
+    private FileChannel wal;
+    // WAL 끝을 되돌리지 못한 쓰기 실패, 이후 쓰기는 모두 거절한다.
+    private IOException failure;
+    private long generation;
+    // 마지막 스냅샷 이후 WAL 에 쓴 것이 있는지
+    private boolean dirty;
+
+    public PostStore(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+
+        try {
+            Files.createDirectories(directory);
+            long from = loadSnapshot();
+            long last = from - 1;
+            for (Path path : listWals()) {
+                long walGeneration = generationOf(path);
+                if (walGeneration < from || Files.size(path) == 0) {
+                    Files.delete(path);
+                    continue;
+                }
+                replay(path);
+                dirty = true;
+                last = walGeneration;
+            }
+            generation = last + 1;
+            wal = openWal(generation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("post store opened. directory={}, posts={}, generation={}", directory, posts.size(), generation);
+    }
+
+    public Optional<StoredPost> get(Long id) {
+        return Optional.ofNullable(posts.get(id));
+    }
+
+    public boolean contains(Long id) {
+        return posts.containsKey(id);
+    }
+
+    public int size() {
+        return posts.size();
+    }
+
+    /**
+     * ID 오름차순, 순회 중의 쓰기는 보일 수도 있고 안 보일 수도 있다.
+     */
+    public Collection<StoredPost> ascending() {
+        return posts.values();
+    }
+
+    /**
+     * id 보다 큰 ID 의 글, ID 오름차순
+     */
+    public Collection<StoredPost> ascendingAfter(Long id) {
+        return posts.tailMap(id, false).values();
+    }
+
+    /**
+     * ID 내림차순 (최신 글부터)
+     */
+    public Collection<StoredPost> descending() {
+        return posts.descendingMap().values();
+    }
+
+    /**
+     * 지금 들어 있는 글이 expected 일 때만(없어야 하면 null) post 로 바꾼다. post 가 null 이면 지운다.
+     *
+     * @return 다른 쓰기가 먼저 바꿔서 실패하면 false
+     */
+    public synchronized boolean replace(Long id, StoredPost expected, StoredPost post) {
+        if (posts.get(id) != expected) {
+            return false;
+        }
+        if (post == null) {
+            if (expected != null) {
+                append(encodeRemove(id));
+                posts.remove(id);
+            }
+            return true;
+        }
+        append(encodePut(post));
+        posts.put(id, post);
+        return true;
+    }
+
+    /**
+     * @return 지운 글, 없으면 null
+     */
+    public synchronized StoredPost remove(Long id) {
+        if (!posts.containsKey(id)) {
+            return null;
+        }
+        append(encodeRemove(id));
+        return posts.remove(id);
+    }
+
+    public synchronized void clear() {
+        append(new byte[]{CLEAR});
+        posts.clear();
+    }
+
+    /**
+     * 마지막 스냅샷 이후 쓰기가 있었으면 새 스냅샷을 쓰고 이전 WAL 을 지운다.
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            long from;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                try {
+                    wal.force(false);
+                    wal.close();
+                    wal = openWal(generation + 1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                generation++;
+                from = generation;
+                dirty = false;
+            }
+
+            try {
+                int count = writeSnapshot(from);
+                for (Path path : listWals()) {
+                    if (generationOf(path) < from) {
+                        Files.delete(path);
+                    }
+                }
+                log.info("post store snapshot written. posts={}, generation={}", count, from);
+            } catch (IOException e) {
+                // 이전 스냅샷과 WAL 이 그대로 남아 있으므로 다음 스냅샷에서 다시 시도한다.
+                synchronized (this) {
+                    dirty = true;
+                }
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            snapshot();
+        } catch (UncheckedIOException e) {
+            log.warn("post store snapshot failed on close. directory={}", directory, e);
+        }
+        synchronized (this) {
+            try {
+                wal.force(false);
+                wal.close();
+            } catch (IOException e) {
+                log.warn("post store wal close failed. directory={}", directory, e);
+            }
+        }
+    }
+
+    /**
+     * 레코드를 쓰다가 실패하면 WAL 을 쓰기 전 길이로 자른다.
+     * 잘린 레코드 뒤에 다음 레코드가 붙으면 재시작시 그 뒤의 레코드를 모두 버리게 되기 때문이다.
+     * 자르지도 못하면 저장소를 실패 상태로 두고 이후 쓰기를 거절한다.
+     */
+    private void append(byte[] body) {
+        if (failure != null) {
+            throw new IllegalStateException("WAL 쓰기에 실패해 더 이상 쓸 수 없습니다. directory=" + directory, failure);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES * 2 + body.length);
+        record.putInt(body.length);
+        record.putInt((int) crc.getValue());
+        record.put(body);
+        record.flip();
+        try {
+            long offset = wal.size();
+            try {
+                while (record.hasRemaining()) {
+                    wal.write(record);
+                }
+                if (fsync) {
+                    wal.force(false);
+                }
+            } catch (IOException e) {
+                truncateWal(offset, e);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        dirty = true;
+    }
+
+    private void truncateWal(long offset, IOException cause) {
+        try {
+            wal.truncate(offset);
+            if (fsync) {
+                wal.force(false);
+            }
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            failure = e;
+            log.error("post store wal truncate failed, store is now read-only. directory={}", directory, e);
+        }
+    }
+
+    // 스냅샷: | long 세대 | 레코드(PUT) ... |
+    private int writeSnapshot(long from) throws IOException {
+        Path path = directory.resolve(SNAPSHOT);
+        Path temp = directory.resolve(SNAPSHOT + ".tmp");
+
+        int count = 0;
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeLong(from);
+            for (StoredPost post : posts.values()) {
+                byte[] body = encodePut(post);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                out.writeInt(body.length);
+                out.writeInt((int) crc.getValue());
+                out.write(body);
+                count++;
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * @return 스냅샷 이후의 WAL 세대, 스냅샷이 없으면 0
+     */
+    private long loadSnapshot() throws IOException {
+        Path path = directory.resolve(SNAPSHOT);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long from = in.readLong();
+            // rename 으로 한 번에 바뀌므로 스냅샷이 깨져 있으면 복구하지 않고 멈춘다.
+            if (!readRecords(in)) {
+                throw new IllegalStateException("손상된 스냅샷입니다. path=" + path);
+            }
+            return from;
+        }
+    }
+
+    private void replay(Path path) throws IOException {
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (!readRecords(in)) {
+                log.warn("post store wal has a broken tail. path={}", path);
+            }
+        }
+    }
+
+    /**
+     * 끝까지 읽으면 true, 중간에 끊기거나 체크섬이 맞지 않는 레코드를 만나면 거기서 멈추고 false
+     */
+    private boolean readRecords(DataInputStream in) throws IOException {
+        while (true) {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return true;
+            }
+
+            byte[] body;
+            int expected;
+            try {
+                expected = in.readInt();
+                if (length <= 0) {
+                    return false;
+                }
+                body = new byte[length];
+                in.readFully(body);
+            } catch (EOFException e) {
+                return false;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != expected) {
+                return false;
+            }
+            apply(body);
+        }
+    }
+
+    private void apply(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        byte type = in.readByte();
+        if (type == CLEAR) {
+            posts.clear();
+            return;
+        }
+
+        long id = in.readLong();
+        if (type == REMOVE) {
+            posts.remove(id);
+            return;
+        }
+
+        long version = in.readLong();
+        String title = readString(in);
+        String content = readString(in);
+        LocalDateTime createdAt = readTime(in);
+        LocalDateTime updatedAt = readTime(in);
+        int tagCount = in.readInt();
+        List<String> tags = new ArrayList<>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(readString(in));
+        }
+
+        posts.put(id, StoredPost.builder()
+                .id(id)
+                .version(version == NULL_VERSION ? null : version)
+                .title(title)
+                .content(content)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .tags(tags)
+                .build());
+    }
+
+    private static byte[] encodePut(StoredPost post) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + (post.getContent() == null ? 0 : post.getContent().length() * 3));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PUT);
+            out.writeLong(post.getId());
+            out.writeLong(post.getVersion() == null ? NULL_VERSION : post.getVersion());
+            writeString(out, post.getTitle());
+            writeString(out, post.getContent());
+            writeTime(out, post.getCreatedAt());
+            writeTime(out, post.getUpdatedAt());
+            out.writeInt(post.getTags().size());
+            for (String tag : post.getTags()) {
+                writeString(out, tag);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeRemove(Long id) {
+        return ByteBuffer.allocate(1 + Long.BYTES)
+                .put(REMOVE)
+                .putLong(id)
+                .array();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        if (time == null) {
+            out.writeLong(NULL_TIME);
+            return;
+        }
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        if (seconds == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+
+    private FileChannel openWal(long walGeneration) throws IOException {
+        return FileChannel.open(directory.resolve(String.format("%020d%s", walGeneration, WAL_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listWals() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(WAL_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long generationOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - WAL_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.blog.api.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * WAL 이 길어지지 않도록 주기적으로 스냅샷을 만든다. 그 사이 쓰기가 없었으면 건너뛴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "blog.storage.type", havingValue = "memory")
+public class PostStoreSnapshotter {
+
+    private final PostStore postStore;
+
+    @Scheduled(fixedDelayString = "${blog.storage.memory.snapshot-interval-millis:60000}")
+    public void snapshot() {
+        try {
+            postStore.snapshot();
+        } catch (UncheckedIOException e) {
+            log.error("post store snapshot failed.", e);
+        }
+    }
+}
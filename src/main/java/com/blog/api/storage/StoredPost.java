@@ -0,0 +1,38 @@
+package com.blog.api.storage;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PostStore 에 들어 있는 글 한 개, 바꿀 때는 새 객체로 통째로 교체한다.
+ */
+@Getter
+@ToString(exclude = "content")
+public class StoredPost {
+
+    private final Long id;
+    private final Long version;
+    private final String title;
+    private final String content;
+    // 입력 순서 그대로
+    private final List<String> tags;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    @Builder
+    public StoredPost(Long id, Long version, String title, String content, Collection<String> tags,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.title = title;
+        this.content = content;
+        this.tags = tags != null ? List.copyOf(tags) : List.of();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,237 @@
+package com.blog.api.stream;
+
+import com.blog.api.domain.PostChanged;
+import com.blog.api.response.PostEventResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 게시글 변경 이벤트를 SSE 구독자에게 전달한다.
+ *
+ * - 이벤트는 고정 크기 링 버퍼에 쌓이고, 구독자마다 자기 커서까지 따로 읽어 간다.
+ * - 전송은 별도 스레드 풀에서 하므로 글쓰기 요청은 느린 구독자를 기다리지 않는다.
+ * - 버퍼 크기보다 뒤처진 구독자는 남아있는 가장 오래된 이벤트로 건너뛰고, 놓친 이벤트가 있으니 resync 이벤트를 먼저 보낸다.
+ * - 순번은 메모리에만 있어 재시작하면 처음부터 다시 센다. 그래서 이벤트 ID 는 "시작 시각-순번" 이고,
+ *   Last-Event-ID 가 이전 실행의 것이거나 버퍼에 없는 범위면 resync 이벤트를 먼저 보내 다시 조회하게 한다.
+ * - 전송 스레드 풀까지 밀리면 해당 구독자의 연결을 끊는다.
+ */
+@Slf4j
+@Component
+public class PostChangeStream {
+
+    private static final String EVENT_NAME = "post";
+    private static final String RESYNC_EVENT_NAME = "resync";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final int capacity;
+    private final long timeout;
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicLong head = new AtomicLong();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Executor dispatcher;
+
+    @Autowired
+    public PostChangeStream(@Value("${blog.stream.buffer-size:1024}") int capacity,
+                            @Value("${blog.stream.timeout:1800000}") long timeout,
+                            @Value("${blog.stream.dispatch-threads:4}") int dispatchThreads) {
+        this(capacity, timeout, dispatcher(capacity, dispatchThreads));
+    }
+
+    PostChangeStream(int capacity, long timeout, Executor dispatcher) {
+        this.capacity = capacity;
+        this.timeout = timeout;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.dispatcher = dispatcher;
+    }
+
+    private static ThreadPoolExecutor dispatcher(int capacity, int dispatchThreads) {
+        ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads,
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(capacity));
+        dispatcher.allowCoreThreadTimeOut(true);
+        return dispatcher;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PostChanged event) {
+        publish(new PostEventResponse(event));
+    }
+
+    public synchronized long publish(PostEventResponse event) {
+        long seq = head.get() + 1;
+        ring.set(index(seq), new Entry(seq, event));
+        head.set(seq);
+
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+        return seq;
+    }
+
+    /**
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID (Last-Event-ID), 처음 구독이면 null
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeout));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        long last = head.get();
+        Long seq = lastEventId == null ? null : parseSeq(lastEventId);
+
+        Subscriber subscriber;
+        if (lastEventId == null) {
+            subscriber = new Subscriber(emitter, last);
+        } else if (seq == null || seq > last || seq < last - capacity) {
+            // 놓친 이벤트를 이어서 줄 수 없다. 지금부터 받되 클라이언트는 목록을 다시 읽어야 한다.
+            subscriber = new Subscriber(emitter, last);
+            try {
+                sendResync(subscriber, last);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+        } else {
+            subscriber = new Subscriber(emitter, seq);
+        }
+
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (dispatcher instanceof ExecutorService) {
+            ((ExecutorService) dispatcher).shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.cursor >= head.get() || !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            log.warn("SSE 전송이 밀려 구독을 종료합니다.");
+            drop(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            long last;
+            while (subscriber.cursor < (last = head.get())) {
+                try {
+                    long oldest = last - capacity + 1;
+                    if (subscriber.cursor + 1 < oldest) {
+                        // 버퍼가 한 바퀴 돌아 놓친 이벤트가 있다. 건너뛰고 클라이언트가 목록을 다시 읽게 한다.
+                        sendResync(subscriber, oldest - 1);
+                        subscriber.cursor = oldest - 1;
+                        continue;
+                    }
+
+                    long next = subscriber.cursor + 1;
+                    Entry entry = ring.get(index(next));
+                    if (entry == null || entry.seq != next) {
+                        // 읽는 사이 덮어써졌다. head 가 따라오면 위에서 resync 를 보낸다.
+                        continue;
+                    }
+
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(eventId(entry.seq))
+                            .name(EVENT_NAME)
+                            .data(entry.event));
+                    subscriber.cursor = next;
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscriber);
+                    return;
+                }
+            }
+            subscriber.scheduled.set(false);
+        } while (subscriber.cursor < head.get() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    // ID 가 seq 인 resync 이벤트, 클라이언트가 이 ID 로 다시 연결하면 seq 다음 이벤트부터 받는다.
+    private void sendResync(Subscriber subscriber, long seq) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(eventId(seq))
+                .name(RESYNC_EVENT_NAME)
+                .data(""));
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    // 이번 실행에서 보낸 ID 가 아니면 null
+    private Long parseSeq(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private int index(long seq) {
+        return (int) (seq % capacity);
+    }
+
+    private static class Entry {
+        private final long seq;
+        private final PostEventResponse event;
+
+        private Entry(long seq, PostEventResponse event) {
+            this.seq = seq;
+            this.event = event;
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.blog.api.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 문자열 키 → 글 ID 트라이
+ *
+ * 노드마다 그 아래(자기 포함)에 있는 ID 중 큰 것(최근 글) topSize 개를 내림차순으로 들고 있어서
+ * 접두어 검색은 접두어 길이만큼 내려가서 그 노드의 목록을 읽으면 끝난다.
+ * 자식은 문자 정렬 배열로 두어 노드당 객체 수를 줄인다.
+ *
+ * 스레드 안전하지 않다.
+ */
+class PrefixTrie {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final int topSize;
+    private final Node root = new Node();
+
+    PrefixTrie(int topSize) {
+        this.topSize = topSize;
+    }
+
+    void add(String key, long id) {
+        Node node = root;
+        node.offer(id, topSize);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.offer(id, topSize);
+        }
+        node.ids = insert(node.ids, id);
+    }
+
+    void remove(String key, long id) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = path[i].child(key.charAt(i));
+            if (child == null) {
+                return;
+            }
+            path[i + 1] = child;
+        }
+
+        Node last = path[key.length()];
+        last.ids = delete(last.ids, id);
+
+        for (int i = key.length(); i >= 0; i--) {
+            Node node = path[i];
+            if (contains(node.top, id)) {
+                node.recompute(topSize);
+            }
+            if (i > 0 && node.isEmpty()) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * @return prefix 로 시작하는 키의 ID 를 내림차순으로 최대 topSize 개
+     */
+    long[] search(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node == null ? EMPTY : node.top.clone();
+    }
+
+    private static boolean contains(long[] descending, long id) {
+        for (long value : descending) {
+            if (value == id) {
+                return true;
+            }
+            if (value < id) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int at = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, at);
+        result[at] = id;
+        System.arraycopy(ids, at, result, at + 1, ids.length - at);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+
+    private static class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+
+        // 이 노드에서 끝나는 키의 ID, 오름차순
+        private long[] ids = EMPTY;
+
+        // 이 노드 아래 전체에서 큰 ID 순 topSize 개, 내림차순
+        private long[] top = EMPTY;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int at = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = label;
+            newChildren[at] = new Node();
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[at];
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return ids.length == 0 && children.length == 0;
+        }
+
+        void offer(long id, int topSize) {
+            if (contains(top, id)) {
+                return;
+            }
+            if (top.length == topSize && top[topSize - 1] > id) {
+                return;
+            }
+
+            int at = 0;
+            while (at < top.length && top[at] > id) {
+                at++;
+            }
+            int length = Math.min(top.length + 1, topSize);
+            long[] result = new long[length];
+            System.arraycopy(top, 0, result, 0, at);
+            result[at] = id;
+            System.arraycopy(top, at, result, at + 1, length - at - 1);
+            top = result;
+        }
+
+        // 자식들의 top 과 이 노드의 ids 를 합쳐 다시 만든다.
+        void recompute(int topSize) {
+            List<Long> candidates = new ArrayList<>();
+            for (int i = ids.length - 1; i >= 0 && i >= ids.length - topSize; i--) {
+                candidates.add(ids[i]);
+            }
+            for (Node child : children) {
+                for (long id : child.top) {
+                    candidates.add(id);
+                }
+            }
+
+            top = candidates.stream()
+                    .distinct()
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .limit(topSize)
+                    .mapToLong(Long::longValue)
+                    .toArray();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.blog.api.suggest;
+
+import com.blog.api.domain.PostChanged;
+import com.blog.api.domain.PostListing;
+import com.blog.api.repository.PostListingRepository;
+import com.blog.api.response.PostSuggestResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 제목 자동완성
+ *
+ * 제목 전체와 각 단어로 시작하는 부분을 자모로 풀어 PrefixTrie 에 넣는다.
+ * 예) "자바 성능 튜닝" 은 "자바", "성능", "튜닝" 어느 것으로 시작해도 찾을 수 있다.
+ * 결과는 최근 글(ID 가 큰 글) 순이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TitleSuggester {
+
+    public static final int MAX_SIZE = 20;
+
+    private static final int MAX_WORDS = 10;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PostListingRepository postListingRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private PrefixTrie trie = new PrefixTrie(MAX_SIZE);
+    private Map<Long, String> titles = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        PrefixTrie newTrie = new PrefixTrie(MAX_SIZE);
+        Map<Long, String> newTitles = new HashMap<>();
+
+        PageRequest pageRequest = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Page<PostListing> page;
+        do {
+            page = postListingRepository.findAll(pageRequest);
+            for (PostListing listing : page) {
+                newTitles.put(listing.getId(), listing.getTitle());
+                for (String key : keysOf(listing.getTitle())) {
+                    newTrie.add(key, listing.getId());
+                }
+            }
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+
+        lock.writeLock().lock();
+        try {
+            trie = newTrie;
+            titles = newTitles;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("title suggester rebuilt. posts={}", newTitles.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PostChanged event) {
+        if (event.getType() == PostChanged.Type.DELETED) {
+            remove(event.getPostId());
+        } else {
+            put(event.getPostId(), event.getTitle());
+        }
+    }
+
+    public void put(Long id, String title) {
+        lock.writeLock().lock();
+        try {
+            String previous = titles.put(id, title);
+            if (previous != null) {
+                if (previous.equals(title)) {
+                    return;
+                }
+                for (String key : keysOf(previous)) {
+                    trie.remove(key, id);
+                }
+            }
+            for (String key : keysOf(title)) {
+                trie.add(key, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = titles.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String key : keysOf(previous)) {
+                trie.remove(key, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 최근 글 순으로 최대 size 개
+     */
+    public List<PostSuggestResponse> suggest(String query, int size) {
+        String prefix = HangulJamo.decompose(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] ids = trie.search(prefix);
+            List<PostSuggestResponse> result = new ArrayList<>(Math.min(size, ids.length));
+            for (int i = 0; i < ids.length && result.size() < size; i++) {
+                result.add(new PostSuggestResponse(ids[i], titles.get(ids[i])));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> keysOf(String title) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (title == null) {
+            return keys;
+        }
+
+        String decomposed = HangulJamo.decompose(title);
+        int start = 0;
+        for (int word = 0; word < MAX_WORDS && start < decomposed.length(); word++) {
+            keys.add(decomposed.substring(start));
+            int space = decomposed.indexOf(' ', start);
+            if (space < 0) {
+                break;
+            }
+            start = space + 1;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,215 @@
+package com.blog.api.tag;
+
+import com.blog.api.exception.InvalidRequest;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * 태그 검색식. 예) "java AND performance NOT draft", "(java OR kotlin) NOT draft"
+ *
+ * <pre>
+ * expr   := term (OR term)*
+ * term   := factor ((AND)? factor | NOT factor)*
+ * factor := NOT factor | '(' expr ')' | tag
+ * </pre>
+ *
+ * 연산자는 대문자 AND, OR, NOT 만 인식하고 나머지 단어는 태그로 보고 소문자로 바꾼다.
+ * 태그 사이에 연산자가 없으면 AND 로 본다.
+ */
+public abstract class TagExpression {
+
+    private static final int MAX_TOKENS = 64;
+
+    /**
+     * @param bitmapOf 태그의 비트맵 (없으면 빈 비트맵)
+     * @param all      살아 있는 전체 글의 비트맵, NOT 에 사용한다.
+     */
+    public abstract RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmapOf, RoaringBitmap all);
+
+    public static TagExpression parse(String source) {
+        List<String> tokens = tokenize(source);
+        if (tokens.isEmpty() || tokens.size() > MAX_TOKENS) {
+            throw invalid();
+        }
+
+        Parser parser = new Parser(tokens);
+        TagExpression expression = parser.expr();
+        if (parser.position != tokens.size()) {
+            throw invalid();
+        }
+        return expression;
+    }
+
+    private static List<String> tokenize(String source) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '(' || c == ')' || Character.isWhitespace(c)) {
+                if (word.length() > 0) {
+                    tokens.add(word.toString());
+                    word.setLength(0);
+                }
+                if (!Character.isWhitespace(c)) {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                word.append(c);
+            }
+        }
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+        }
+        return tokens;
+    }
+
+    private static InvalidRequest invalid() {
+        return new InvalidRequest("tags", "태그 검색식이 올바르지 않습니다.");
+    }
+
+    private static class Parser {
+
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        TagExpression expr() {
+            TagExpression left = term();
+            while (accept("OR")) {
+                left = new Or(left, term());
+            }
+            return left;
+        }
+
+        TagExpression term() {
+            TagExpression left = factor();
+            while (position < tokens.size() && !peek("OR") && !peek(")")) {
+                if (accept("NOT")) {
+                    left = new AndNot(left, factor());
+                } else {
+                    accept("AND");
+                    left = new And(left, factor());
+                }
+            }
+            return left;
+        }
+
+        TagExpression factor() {
+            if (position >= tokens.size()) {
+                throw invalid();
+            }
+            if (accept("NOT")) {
+                return new Not(factor());
+            }
+            if (accept("(")) {
+                TagExpression inner = expr();
+                if (!accept(")")) {
+                    throw invalid();
+                }
+                return inner;
+            }
+
+            String token = tokens.get(position);
+            if (token.equals(")") || token.equals("AND") || token.equals("OR")) {
+                throw invalid();
+            }
+            position++;
+            return new Tag(token.toLowerCase(Locale.ROOT));
+        }
+
+        private boolean peek(String token) {
+            return position < tokens.size() && tokens.get(position).equals(token);
+        }
+
+        private boolean accept(String token) {
+            if (peek(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static class Tag extends TagExpression {
+
+        private final String name;
+
+        Tag(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmapOf, RoaringBitmap all) {
+            return bitmapOf.apply(name);
+        }
+    }
+
+    private static class And extends TagExpression {
+
+        private final TagExpression left;
+        private final TagExpression right;
+
+        And(TagExpression left, TagExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmapOf, RoaringBitmap all) {
+            return RoaringBitmap.and(left.evaluate(bitmapOf, all), right.evaluate(bitmapOf, all));
+        }
+    }
+
+    private static class Or extends TagExpression {
+
+        private final TagExpression left;
+        private final TagExpression right;
+
+        Or(TagExpression left, TagExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmapOf, RoaringBitmap all) {
+            return RoaringBitmap.or(left.evaluate(bitmapOf, all), right.evaluate(bitmapOf, all));
+        }
+    }
+
+    private static class AndNot extends TagExpression {
+
+        private final TagExpression left;
+        private final TagExpression right;
+
+        AndNot(TagExpression left, TagExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmapOf, RoaringBitmap all) {
+            return RoaringBitmap.andNot(left.evaluate(bitmapOf, all), right.evaluate(bitmapOf, all));
+        }
+    }
+
+    private static class Not extends TagExpression {
+
+        private final TagExpression operand;
+
+        Not(TagExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmapOf, RoaringBitmap all) {
+            return RoaringBitmap.andNot(all, operand.evaluate(bitmapOf, all));
+        }
+    }
+}
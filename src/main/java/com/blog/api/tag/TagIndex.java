@@ -0,0 +1,214 @@
+package com.blog.api.tag;
+
+import com.blog.api.archive.PostArchive;
+import com.blog.api.domain.PostChanged;
+import com.blog.api.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 태그 → 글 집합을 압축 비트맵(RoaringBitmap)으로 메모리에 들고 있는 인덱스.
+ *
+ * 비트맵에는 글 ID 대신 0 부터 차례로 붙인 번호(ordinal)를 넣어 촘촘하게 압축되도록 한다.
+ * 시작할 때 ID 오름차순으로 번호를 붙이고 이후 새 글은 뒤에 이어 붙이므로,
+ * 번호를 거꾸로 읽으면 ID 내림차순이 된다. 다른 노드가 만든 더 작은 ID 가 나중에 들어오면
+ * 그때부터 결과를 ID 로 정렬해서 돌려주고, 다음 rebuild 에서 다시 순서를 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final PostRepository postRepository;
+    private final PostArchive postArchive;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, RoaringBitmap> bitmaps = new HashMap<>();
+    private RoaringBitmap live = new RoaringBitmap();
+    private Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] ids = new long[1024];
+    private int size;
+    private boolean ordered = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Long> postIds = new ArrayList<>(postRepository.getAllIds());
+        Map<Long, Collection<String>> tags = new HashMap<>(postRepository.getAllTags());
+
+        // 보관 계층의 글도 목록에 나오므로 함께 색인한다.
+        Set<Long> known = new HashSet<>(postIds);
+        postArchive.forEachTags((id, archivedTags) -> {
+            if (known.add(id)) {
+                postIds.add(id);
+                tags.put(id, archivedTags);
+            }
+        });
+        Collections.sort(postIds);
+
+        Map<String, RoaringBitmap> newBitmaps = new HashMap<>();
+        Map<Long, Integer> newOrdinals = new HashMap<>(postIds.size() * 2);
+        long[] newIds = new long[Math.max(1024, postIds.size() * 2)];
+        RoaringBitmap newLive = new RoaringBitmap();
+
+        for (int ordinal = 0; ordinal < postIds.size(); ordinal++) {
+            Long id = postIds.get(ordinal);
+            newIds[ordinal] = id;
+            newOrdinals.put(id, ordinal);
+            newLive.add(ordinal);
+            for (String tag : tags.getOrDefault(id, List.of())) {
+                newBitmaps.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+        newBitmaps.values().forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = newBitmaps;
+            live = newLive;
+            ordinals = newOrdinals;
+            ids = newIds;
+            size = postIds.size();
+            ordered = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("tag index rebuilt. posts={}, tags={}", postIds.size(), newBitmaps.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PostChanged event) {
+        switch (event.getType()) {
+            case CREATED:
+            case EDITED:
+                put(event.getPostId(), event.getTags());
+                break;
+            case DELETED:
+                remove(event.getPostId());
+                break;
+        }
+    }
+
+    /**
+     * @param tags null 이면 기존 태그를 그대로 둔다.
+     */
+    public void put(Long postId, Collection<String> tags) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal == null) {
+                ordinal = append(postId);
+            } else if (tags != null) {
+                for (RoaringBitmap bitmap : bitmaps.values()) {
+                    bitmap.remove(ordinal);
+                }
+                bitmaps.values().removeIf(RoaringBitmap::isEmpty);
+            }
+
+            live.add(ordinal);
+            if (tags != null) {
+                for (String tag : tags) {
+                    bitmaps.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(postId);
+            if (ordinal == null) {
+                return;
+            }
+            live.remove(ordinal);
+            for (RoaringBitmap bitmap : bitmaps.values()) {
+                bitmap.remove(ordinal);
+            }
+            bitmaps.values().removeIf(RoaringBitmap::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색식에 맞는 글 ID 를 ID 내림차순으로 offset 부터 limit 개 돌려준다.
+     */
+    public List<Long> search(TagExpression expression, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matched = expression.evaluate(tag -> bitmaps.getOrDefault(tag, EMPTY), live);
+            if (offset >= matched.getLongCardinality()) {
+                return Collections.emptyList();
+            }
+
+            if (!ordered) {
+                return sortedPage(matched, offset, limit);
+            }
+
+            List<Long> page = new ArrayList<>(limit);
+            IntIterator iterator = matched.getReverseIntIterator();
+            for (long skipped = 0; skipped < offset; skipped++) {
+                iterator.next();
+            }
+            while (iterator.hasNext() && page.size() < limit) {
+                page.add(ids[iterator.next()]);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<String> getTags() {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(bitmaps.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> sortedPage(RoaringBitmap matched, long offset, int limit) {
+        List<Long> all = new ArrayList<>(matched.getCardinality());
+        matched.forEach((int ordinal) -> all.add(ids[ordinal]));
+        all.sort(Comparator.reverseOrder());
+        int from = (int) Math.min(offset, all.size());
+        return new ArrayList<>(all.subList(from, Math.min(all.size(), from + limit)));
+    }
+
+    private int append(Long postId) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        if (size > 0 && postId < ids[size - 1]) {
+            ordered = false;
+        }
+        ids[size] = postId;
+        ordinals.put(postId, size);
+        return size++;
+    }
+}
@@ -0,0 +1,40 @@
+package com.blog.api;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 테스트에서 뜨는 스프링 컨텍스트마다 변경 로그, 보관 세그먼트, 메모리 저장소 파일을 따로 둔다.
+ * 같은 JVM 에 컨텍스트가 여러 개 캐시돼도 서로의 파일(과 변경 로그 잠금)을 건드리지 않는다.
+ * 우선 순위가 가장 낮아 테스트에서 blog.data-directory 나 각 디렉토리를 직접 지정하면 그 값을 쓴다.
+ */
+public class TestDataDirectory implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("blog-test-data");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                FileSystemUtils.deleteRecursively(directory);
+            } catch (IOException ignored) {
+            }
+        }));
+
+        environment.getPropertySources().addLast(new MapPropertySource("testDataDirectory",
+                Map.of("blog.data-directory", directory.toString())));
+    }
+}
@@ -0,0 +1,160 @@
+package com.blog.api.archive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("보관한 글을 ID 로 다시 읽을 수 있다.")
+    void test1() throws Exception {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2023, 1, 2, 3, 4, 5, 6000);
+        List<ArchivedPost> posts = LongStream.rangeClosed(1, 300)
+                .mapToObj(id -> post(id, "제목 " + id, "본문 ".repeat(500) + id, createdAt))
+                .collect(Collectors.toList());
+
+        // when
+        try (PostArchive archive = new PostArchive(directory, false)) {
+            archive.add(posts);
+
+            // then
+            ArchivedPost found = archive.find(150L).orElseThrow();
+            assertEquals("제목 150", found.getTitle());
+            assertEquals("본문 ".repeat(500) + 150, found.getContent());
+            assertEquals(3L, found.getVersion());
+            assertEquals(Set.of("java", "tag150"), found.getTags());
+            assertEquals(createdAt, found.getCreatedAt());
+            assertNull(found.getUpdatedAt());
+
+            assertEquals("제목 300", archive.find(300L).orElseThrow().getTitle());
+            assertTrue(archive.find(301L).isEmpty());
+        }
+
+        // 압축되어 원문보다 훨씬 작다.
+        try (Stream<Path> files = Files.list(directory)) {
+            long size = files.mapToLong(PostArchiveTest::size).sum();
+            assertTrue(size < 300L * 500 * 7 / 10, "size=" + size);
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열어도 세그먼트와 삭제 표시가 남아 있다.")
+    void test2() throws Exception {
+        // given
+        try (PostArchive archive = new PostArchive(directory, true)) {
+            archive.add(List.of(post(1L, "글 1", "내용 1", null), post(2L, "글 2", "내용 2", null)));
+            archive.add(List.of(post(10L, "글 10", "내용 10", null)));
+
+            // when
+            assertTrue(archive.delete(2L));
+            assertFalse(archive.delete(3L));
+        }
+
+        // then
+        try (PostArchive archive = new PostArchive(directory, false)) {
+            assertEquals("글 1", archive.find(1L).orElseThrow().getTitle());
+            assertEquals("글 10", archive.find(10L).orElseThrow().getTitle());
+            assertTrue(archive.find(2L).isEmpty());
+
+            Map<Long, Set<String>> tags = new HashMap<>();
+            archive.forEachTags(tags::put);
+            assertEquals(Set.of(1L, 10L), tags.keySet());
+        }
+    }
+
+    @Test
+    @DisplayName("ID 순서가 아니면 쓰지 않는다.")
+    void test3() {
+        try (PostArchive archive = new PostArchive(directory, false)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.add(List.of(post(2L, "글", "내용", null), post(1L, "글", "내용", null))));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 글이 여러 세그먼트에 있으면 버전이 가장 높은 글을 읽는다.")
+    void test4() throws Exception {
+        // given
+        ArchivedPost edited = ArchivedPost.builder()
+                .id(5L)
+                .title("수정한 글 5")
+                .content("수정한 내용 5")
+                .version(4L)
+                .tags(Set.of("edited"))
+                .build();
+
+        try (PostArchive archive = new PostArchive(directory, false)) {
+            archive.add(List.of(post(5L, "글 5", "내용 5", null), post(6L, "글 6", "내용 6", null)));
+
+            // when
+            archive.add(List.of(post(1L, "글 1", "내용 1", null), edited));
+
+            // then
+            assertEquals("수정한 글 5", archive.find(5L).orElseThrow().getTitle());
+        }
+
+        try (PostArchive archive = new PostArchive(directory, false)) {
+            assertEquals(4L, archive.find(5L).orElseThrow().getVersion());
+
+            Map<Long, Set<String>> tags = new HashMap<>();
+            archive.forEachTags(tags::put);
+            assertEquals(Set.of("edited"), tags.get(5L));
+            assertEquals(Set.of(1L, 5L, 6L), tags.keySet());
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다가 멈춘 임시 세그먼트는 열 때 지운다.")
+    void test5() throws Exception {
+        // given
+        Path temp = directory.resolve("00000000000000000001.arc.tmp");
+        Files.write(temp, new byte[]{1, 2, 3});
+
+        // when
+        try (PostArchive archive = new PostArchive(directory, false)) {
+            // then
+            assertFalse(Files.exists(temp));
+            assertTrue(archive.find(1L).isEmpty());
+        }
+    }
+
+    private static ArchivedPost post(long id, String title, String content, LocalDateTime createdAt) {
+        return ArchivedPost.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .version(3L)
+                .tags(Set.of("java", "tag" + id))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
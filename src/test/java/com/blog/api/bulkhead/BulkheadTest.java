@@ -0,0 +1,119 @@
+package com.blog.api.bulkhead;
+
+import com.blog.api.exception.PostNotFound;
+import com.blog.api.exception.ServiceUnavailable;
+import com.blog.api.limit.ConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    @DisplayName("스레드와 큐가 모두 차면 바로 503 으로 거절한다.")
+    void test1() throws Exception {
+        // given
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bulkhead.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<String> running = bulkhead.submit(() -> await(release));
+            CompletableFuture<String> queued = bulkhead.submit(() -> await(release));
+
+            // when
+            CompletableFuture<String> rejected = bulkhead.submit(() -> "거절");
+
+            // then
+            ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ServiceUnavailable.class, e.getCause());
+            assertEquals(1.0, registry.get("blog.bulkhead.rejected").tag("pool", "test").functionCounter().count());
+
+            release.countDown();
+            assertEquals("완료", running.get(1, TimeUnit.SECONDS));
+            assertEquals("완료", queued.get(1, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("시간 안에 끝나지 않으면 503, 작업에서 난 예외는 그대로 전달한다.")
+    void test2() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 10, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            ExecutionException timeout = assertThrows(ExecutionException.class,
+                    () -> bulkhead.submit(() -> await(release)).get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ServiceUnavailable.class, timeout.getCause());
+
+            release.countDown();
+            ExecutionException notFound = assertThrows(ExecutionException.class,
+                    () -> bulkhead.run(() -> {
+                        throw new PostNotFound();
+                    }).get(1, TimeUnit.SECONDS));
+            assertInstanceOf(PostNotFound.class, notFound.getCause());
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("DB 한도가 차면 스레드가 남아도 작업을 503 으로 거절한다.")
+    void test3() throws Exception {
+        // given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("test.initial-limit", "1")
+                .withProperty("test.min-limit", "1")
+                .withProperty("test.max-limit", "1")
+                .withProperty("test.queue", "0");
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.create("db", environment, "test.");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        Bulkhead bulkhead = new Bulkhead("test", 2, 10, Duration.ofSeconds(5), limiter);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<String> running = bulkhead.submit(() -> await(release));
+            while (registry.get("blog.limiter.in-flight").tag("name", "db").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            // when
+            CompletableFuture<String> rejected = bulkhead.submit(() -> "거절");
+
+            // then
+            ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ServiceUnavailable.class, e.getCause());
+
+            release.countDown();
+            assertEquals("완료", running.get(1, TimeUnit.SECONDS));
+            assertEquals("완료", bulkhead.submit(() -> "완료").get(1, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "완료";
+    }
+}
@@ -0,0 +1,160 @@
+package com.blog.api.changelog;
+
+import com.blog.api.domain.PostChanged;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostChangeLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 변경을 원하는 시퀀스부터 다시 읽을 수 있다.")
+    void test1() {
+        // given
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 256, false)) {
+            for (long i = 1; i <= 20; i++) {
+                changeLog.append(change(PostChanged.Type.CREATED, i, "제목 " + i, "내용 " + i));
+            }
+
+            // when
+            List<PostChangeRecord> records = new ArrayList<>();
+            changeLog.replay(15, records::add);
+
+            // then
+            assertEquals(6, records.size());
+            assertEquals(15L, records.get(0).getSeq());
+            assertEquals(15L, records.get(0).getPostId());
+            assertEquals("제목 15", records.get(0).getTitle());
+            assertEquals("내용 20", records.get(5).getContent());
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 세그먼트 파일로 넘어간다.")
+    void test2() throws IOException {
+        // when
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 128, false)) {
+            for (long i = 1; i <= 10; i++) {
+                changeLog.append(change(PostChanged.Type.CREATED, i, "제목 " + i, "내용 " + i));
+            }
+        }
+
+        // then
+        assertTrue(segments().size() > 1);
+    }
+
+    @Test
+    @DisplayName("다시 열면 마지막 시퀀스부터 이어서 기록한다.")
+    void test3() {
+        // given
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 256, false)) {
+            for (long i = 1; i <= 5; i++) {
+                changeLog.append(change(PostChanged.Type.CREATED, i, "제목", "내용"));
+            }
+        }
+
+        // when
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 256, false)) {
+            long seq = changeLog.append(change(PostChanged.Type.DELETED, 1L, null, null));
+
+            // then
+            assertEquals(6L, seq);
+
+            List<PostChangeRecord> records = new ArrayList<>();
+            changeLog.replay(6, records::add);
+            assertEquals(PostChanged.Type.DELETED, records.get(0).getType());
+            assertNull(records.get(0).getTitle());
+        }
+    }
+
+    @Test
+    @DisplayName("체크섬이 깨진 레코드부터는 버린다.")
+    void test4() throws IOException {
+        // given
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 4096, false)) {
+            for (long i = 1; i <= 3; i++) {
+                changeLog.append(change(PostChanged.Type.CREATED, i, "제목", "내용"));
+            }
+        }
+
+        Path segment = segments().get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        int recordSize = 8 + ByteBuffer.wrap(bytes).getInt(0);
+        bytes[recordSize * 2 + 12] ^= 1;
+        Files.write(segment, bytes);
+
+        // when
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 4096, false)) {
+
+            // then
+            assertEquals(2L, changeLog.getLastSeq());
+            assertEquals(3L, changeLog.append(change(PostChanged.Type.EDITED, 1L, "수정", "수정")));
+        }
+    }
+
+    @Test
+    @DisplayName("이미 열려 있는 디렉토리는 다시 열 수 없다.")
+    void test5() {
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 256, false)) {
+            assertThrows(IllegalStateException.class, () -> new PostChangeLog(directory, 256, false));
+        }
+
+        // 닫으면 다시 열 수 있다.
+        new PostChangeLog(directory, 256, false).close();
+    }
+
+    @Test
+    @DisplayName("다 쓴 세그먼트는 읽기 전용으로 열어도 처음부터 다시 읽을 수 있다.")
+    void test6() {
+        // given
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 128, false)) {
+            for (long i = 1; i <= 10; i++) {
+                changeLog.append(change(PostChanged.Type.CREATED, i, "제목 " + i, "내용 " + i));
+            }
+        }
+
+        // when
+        try (PostChangeLog changeLog = new PostChangeLog(directory, 128, false)) {
+            changeLog.append(change(PostChanged.Type.DELETED, 1L, null, null));
+
+            List<PostChangeRecord> records = new ArrayList<>();
+            changeLog.replay(1, records::add);
+
+            // then
+            assertEquals(11, records.size());
+            assertEquals("제목 1", records.get(0).getTitle());
+            assertEquals(11L, records.get(10).getSeq());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static PostChanged change(PostChanged.Type type, Long postId, String title, String content) {
+        return PostChanged.builder()
+                .type(type)
+                .postId(postId)
+                .title(title)
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.blog.api.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_HTML;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WebConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("/assets 파일은 1년간 immutable 로 캐시한다.")
+    void test1() throws Exception {
+        mockMvc.perform(get("/assets/index-test.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    @DisplayName("/assets 에 없는 파일의 404 는 캐시하지 않는다.")
+    void test2() throws Exception {
+        mockMvc.perform(get("/assets/missing-test.js"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    @DisplayName("프론트 라우트 경로는 index.html 을 내려주고 API 경로는 그대로 처리한다.")
+    void test3() throws Exception {
+        mockMvc.perform(get("/write").accept(TEXT_HTML))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(containsString("index-test")));
+
+        mockMvc.perform(get("/posts/1/edit").accept(TEXT_HTML))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("index-test")));
+
+        mockMvc.perform(get("/posts/suggest").param("q", "블로그").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("index-test"))));
+    }
+
+    @Test
+    @DisplayName("확장자가 있는 경로는 파일이 없으면 index.html 대신 404 를 준다.")
+    void test4() throws Exception {
+        mockMvc.perform(get("/missing-test.js"))
+                .andExpect(status().isNotFound());
+    }
+}
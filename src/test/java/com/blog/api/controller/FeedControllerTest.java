@@ -0,0 +1,93 @@
+package com.blog.api.controller;
+
+import com.blog.api.domain.Post;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.request.PostCreate;
+import com.blog.api.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("/feed.xml 은 새 글을 바로 반영하고, ETag 가 같으면 304 를 준다.")
+    void test1() throws Exception {
+        // given
+        postService.write(PostCreate.builder().title("피드 제목").content("피드 내용").build());
+
+        // when
+        String eTag = mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString("application/atom+xml")))
+                .andExpect(content().string(containsString("<title>피드 제목</title>")))
+                .andDo(print())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // then
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding 에 gzip 이 있으면 미리 압축한 본문을 준다.")
+    void test2() throws Exception {
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-gzip\"")))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    @DisplayName("/sitemap.xml 색인의 조각에 글 주소가 있다.")
+    void test3() throws Exception {
+        // given
+        postService.write(PostCreate.builder().title("sitemap 제목").content("내용").build());
+        Post post = postRepository.findAll().get(0);
+
+        // expected
+        mockMvc.perform(get("/sitemap.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<sitemapindex")));
+
+        String sitemap = mockMvc.perform(get("/sitemap.xml")).andReturn().getResponse().getContentAsString();
+        String key = sitemap.substring(sitemap.lastIndexOf("/sitemap-") + "/sitemap-".length(), sitemap.lastIndexOf(".xml</loc>"));
+
+        mockMvc.perform(get("/sitemap-" + key + ".xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("/posts/" + post.getId() + "</loc>")));
+
+        mockMvc.perform(get("/sitemap-1.xml"))
+                .andExpect(status().isNotFound());
+    }
+}
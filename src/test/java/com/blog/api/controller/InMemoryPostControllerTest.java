@@ -0,0 +1,25 @@
+package com.blog.api.controller;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+
+/**
+ * PostControllerTest 를 blog.storage.type=memory 로 다시 돌린다.
+ */
+@TestPropertySource(properties = "blog.storage.type=memory")
+@DirtiesContext
+class InMemoryPostControllerTest extends PostControllerTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void storeDirectory(DynamicPropertyRegistry registry) {
+        registry.add("blog.storage.memory.directory", () -> directory.toString());
+    }
+}
@@ -4,6 +4,7 @@ import com.blog.api.domain.Post;
 import com.blog.api.repository.PostRepository;
 import com.blog.api.request.PostCreate;
 import com.blog.api.request.PostEdit;
+import com.blog.api.service.PostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.blog.api.controller.AsyncMockMvc.perform;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
@@ -37,6 +40,9 @@ class PostControllerTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostService postService;
+
     @BeforeEach
     void clean() {
         postRepository.deleteAll();
@@ -54,7 +60,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(request);
 
         // expected
-        mockMvc.perform(post("/posts")
+        perform(mockMvc, post("/posts")
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isOk())
@@ -73,7 +79,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(request);
 
         // expected
-        mockMvc.perform(post("/posts")
+        perform(mockMvc, post("/posts")
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isBadRequest())
@@ -95,7 +101,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(request);
 
         // when
-        mockMvc.perform(post("/posts")
+        perform(mockMvc, post("/posts")
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isOk())
@@ -120,10 +126,10 @@ class PostControllerTest {
         postRepository.save(post);
 
         // expected
-        mockMvc.perform(get("/posts/{postId}", post.getId())
+        perform(mockMvc, get("/posts/{postId}", post.getId())
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(post.getId()))
+                .andExpect(jsonPath("$.id").value(post.getId().toString()))
                 .andExpect(jsonPath("$.title").value("1234567890"))
                 .andExpect(jsonPath("$.content").value("bar"))
                 .andDo(print());
@@ -142,7 +148,7 @@ class PostControllerTest {
         postRepository.saveAll(requestPosts);
 
         // expected
-        mockMvc.perform(get("/posts?page=1&size=10")
+        perform(mockMvc, get("/posts?page=1&size=10")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()", is(10)))
@@ -164,7 +170,7 @@ class PostControllerTest {
         postRepository.saveAll(requestPosts);
 
         // expected
-        mockMvc.perform(get("/posts?page=0&size=10")
+        perform(mockMvc, get("/posts?page=0&size=10")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()", is(10)))
@@ -190,7 +196,7 @@ class PostControllerTest {
                 .build();
 
         // expected
-        mockMvc.perform(patch("/posts/{postId}", post.getId()) // PATH / posts/{postId}
+        perform(mockMvc, patch("/posts/{postId}", post.getId()) // PATH / posts/{postId}
                         .contentType(APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(postEdit)))
                 .andExpect(status().isOk())
@@ -209,7 +215,7 @@ class PostControllerTest {
         postRepository.save(post);
 
         // expected
-        mockMvc.perform(delete("/posts/{postId}", post.getId())
+        perform(mockMvc, delete("/posts/{postId}", post.getId())
                 .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andDo(print());
@@ -219,7 +225,7 @@ class PostControllerTest {
     @DisplayName("존재하지 않는 게시글 조회")
     void test9() throws Exception {
         // expected
-        mockMvc.perform(delete("/posts/{postId}", 1L)
+        perform(mockMvc, delete("/posts/{postId}", 1L)
                 .contentType(APPLICATION_JSON))
                 .andExpect(status().isNotFound())
                 .andDo(print());
@@ -234,7 +240,7 @@ class PostControllerTest {
                 .build();
 
         // expected
-        mockMvc.perform(patch("/posts/{postId}", 1L)
+        perform(mockMvc, patch("/posts/{postId}", 1L)
                         .contentType(APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(postEdit)))
                 .andExpect(status().isNotFound())
@@ -253,10 +259,140 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(request);
 
         // when
-        mockMvc.perform(post("/posts")
+        perform(mockMvc, post("/posts")
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isBadRequest())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("여러 글을 요청한 순서대로 한 번에 조회하고, 없는 글은 따로 알려준다.")
+    void test12() throws Exception {
+        // given
+        List<Post> posts = IntStream.range(0, 3)
+                .mapToObj(i -> Post.builder()
+                        .title("블로그 제목 " + i)
+                        .content("미사신도시 " + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(posts);
+
+        Long missingId = posts.get(2).getId() + 1000L;
+        String ids = posts.get(2).getId() + "," + missingId + "," + posts.get(0).getId();
+
+        // expected
+        perform(mockMvc, get("/posts?ids={ids}", ids)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()", is(2)))
+                .andExpect(jsonPath("$.posts[0].id").value(posts.get(2).getId().toString()))
+                .andExpect(jsonPath("$.posts[1].id").value(posts.get(0).getId().toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId.toString()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("여러 글 조회는 한 번에 100개까지만 가능하다.")
+    void test13() throws Exception {
+        // given
+        String ids = IntStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // expected
+        perform(mockMvc, get("/posts?ids={ids}", ids)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.ids").exists())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("많이 읽힌 글을 점수 순으로 조회한다.")
+    void test14() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("인기 글")
+                .content("내용")
+                .build());
+        for (int i = 0; i < 1000; i++) {
+            postService.get(post.getId());
+        }
+
+        // expected
+        perform(mockMvc, get("/posts/popular?size=5")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(post.getId().toString()))
+                .andExpect(jsonPath("$[0].title").value("인기 글"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("인기 글은 한 번에 50개까지만 조회할 수 있다.")
+    void test15() throws Exception {
+        perform(mockMvc, get("/posts/popular?size=51")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.size").exists())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("If-Match: * 로 수정하면 버전을 검사하지 않는다.")
+    void test16() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("블로그 제목")
+                .content("미사신도시")
+                .build());
+        postService.edit(post.getId(), PostEdit.builder().content("교산신도시").build());
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("블로그 제목 수정")
+                .build();
+
+        // expected
+        perform(mockMvc, patch("/posts/{postId}", post.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isOk())
+                .andDo(print());
+
+        assertEquals(2L, postRepository.findById(post.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("If-Match 에 약한 ETag 를 쓰면 400 이고, 다른 버전이면 409 다.")
+    void test17() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("블로그 제목")
+                .content("미사신도시")
+                .build());
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("블로그 제목 수정")
+                .build();
+
+        // expected
+        perform(mockMvc, patch("/posts/{postId}", post.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation['If-Match']").exists())
+                .andDo(print());
+
+        perform(mockMvc, patch("/posts/{postId}", post.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isConflict())
+                .andDo(print());
+
+        assertEquals(0L, postRepository.findById(post.getId()).orElseThrow().getVersion());
+    }
+}
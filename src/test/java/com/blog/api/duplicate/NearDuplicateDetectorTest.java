@@ -0,0 +1,101 @@
+package com.blog.api.duplicate;
+
+import com.blog.api.domain.PostChanged;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDuplicateDetectorTest {
+
+    private NearDuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new NearDuplicateDetector(null, true, 0.8, 200);
+    }
+
+    @Test
+    @DisplayName("공백, 대소문자, 몇 글자만 다른 본문은 거의 같은 글로 찾는다.")
+    void test1() {
+        // given
+        detector.on(created(1L, text(1)));
+        detector.on(created(2L, text(2)));
+
+        // expected
+        assertEquals(List.of(1L), detector.findSimilar(text(1) + " 끝"));
+        assertEquals(List.of(1L), detector.findSimilar(text(1).replace(" ", "  ")));
+        assertEquals(List.of(2L), detector.findSimilar("서문 " + text(2)));
+    }
+
+    @Test
+    @DisplayName("내용이 많이 다르면 찾지 않는다.")
+    void test2() {
+        // given
+        detector.on(created(1L, text(1)));
+
+        // expected
+        String half = text(1).substring(0, text(1).length() / 2) + text(2).substring(text(2).length() / 2);
+        assertEquals(List.of(), detector.findSimilar(half));
+        assertEquals(List.of(), detector.findSimilar(text(2)));
+    }
+
+    @Test
+    @DisplayName("짧은 본문은 검사하지 않는다.")
+    void test3() {
+        // given
+        String content = "짧은 본문";
+        detector.on(created(1L, content));
+
+        // expected
+        assertEquals(List.of(), detector.findSimilar(content));
+    }
+
+    @Test
+    @DisplayName("수정, 삭제가 바로 반영된다.")
+    void test4() {
+        // given
+        detector.on(created(1L, text(1)));
+        detector.on(created(2L, text(2)));
+
+        // when
+        detector.on(PostChanged.builder().type(PostChanged.Type.EDITED).postId(1L).content(text(3)).build());
+        detector.on(PostChanged.builder().type(PostChanged.Type.DELETED).postId(2L).build());
+
+        // then
+        assertEquals(List.of(), detector.findSimilar(text(1)));
+        assertEquals(List.of(1L), detector.findSimilar(text(3)));
+        assertEquals(List.of(), detector.findSimilar(text(2)));
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 아무 것도 찾지 않는다.")
+    void test5() {
+        // given
+        NearDuplicateDetector disabled = new NearDuplicateDetector(null, false, 0.8, 200);
+        disabled.on(created(1L, text(1)));
+
+        // expected
+        assertEquals(List.of(), disabled.findSimilar(text(1)));
+    }
+
+    private static PostChanged created(Long postId, String content) {
+        return PostChanged.builder().type(PostChanged.Type.CREATED).postId(postId).content(content).build();
+    }
+
+    // seed 마다 다른 임의의 한글 단어 60 개
+    private static String text(long seed) {
+        Random random = new Random(seed);
+        return IntStream.range(0, 60)
+                .mapToObj(i -> IntStream.range(0, 2 + random.nextInt(3))
+                        .mapToObj(j -> String.valueOf((char) ('가' + random.nextInt(11172))))
+                        .collect(Collectors.joining()))
+                .collect(Collectors.joining(" "));
+    }
+}
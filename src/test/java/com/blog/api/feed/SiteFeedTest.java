@@ -0,0 +1,139 @@
+package com.blog.api.feed;
+
+import com.blog.api.domain.PostChanged;
+import com.blog.api.domain.PostListing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SiteFeedTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    private SiteFeed siteFeed;
+
+    @BeforeEach
+    void setUp() {
+        siteFeed = new SiteFeed(null, "https://blog.example.com/", "블로그", 2, 2, ZoneOffset.ofHours(9));
+    }
+
+    @Test
+    @DisplayName("피드에는 최근 글 size 개만 최신 순으로 담는다.")
+    void test1() {
+        // when
+        siteFeed.put(post(1L, "글 1"));
+        siteFeed.put(post(2L, "글 2"));
+        siteFeed.put(post(3L, "글 <3> & 4"));
+
+        // then
+        String feed = plain(siteFeed.feed());
+        assertFalse(feed.contains("글 1"));
+        assertTrue(feed.indexOf("글 &lt;3&gt; &amp; 4") < feed.indexOf("글 2"));
+        assertTrue(feed.contains("<link href=\"https://blog.example.com/posts/3\"/>"));
+        assertTrue(feed.contains("<updated>2024-01-02T03:04:05+09:00</updated>"));
+        assertEquals(feed, gunzip(siteFeed.feed()));
+    }
+
+    @Test
+    @DisplayName("sitemap 은 chunkSize 개씩 나누고 색인에는 조각마다 주소를 담는다.")
+    void test2() {
+        // when
+        for (long id = 1; id <= 5; id++) {
+            siteFeed.put(post(id, "글 " + id));
+        }
+
+        // then
+        String index = plain(siteFeed.sitemapIndex());
+        assertTrue(index.contains("<loc>https://blog.example.com/sitemap-1.xml</loc>"));
+        assertTrue(index.contains("<loc>https://blog.example.com/sitemap-3.xml</loc>"));
+        assertTrue(index.contains("<loc>https://blog.example.com/sitemap-5.xml</loc>"));
+
+        String sitemap = plain(siteFeed.sitemap(3L));
+        assertTrue(sitemap.contains("<loc>https://blog.example.com/posts/3</loc>"));
+        assertTrue(sitemap.contains("<loc>https://blog.example.com/posts/4</loc>"));
+        assertFalse(sitemap.contains("posts/5"));
+        assertNull(siteFeed.sitemap(2L));
+    }
+
+    @Test
+    @DisplayName("글이 바뀐 조각만 다시 만들고, 비면 색인에서 뺀다.")
+    void test3() {
+        // given
+        for (long id = 1; id <= 4; id++) {
+            siteFeed.put(post(id, "글 " + id));
+        }
+        String first = siteFeed.sitemap(1L).getETag();
+        String second = siteFeed.sitemap(3L).getETag();
+
+        // when
+        siteFeed.on(PostChanged.builder().type(PostChanged.Type.EDITED).postId(4L).title("글 4 수정")
+                .createdAt(NOW).updatedAt(NOW.plusDays(1)).build());
+
+        // then
+        assertEquals(first, siteFeed.sitemap(1L).getETag());
+        assertNotEquals(second, siteFeed.sitemap(3L).getETag());
+        assertTrue(plain(siteFeed.feed()).contains("글 4 수정"));
+
+        // when
+        siteFeed.remove(1L);
+        siteFeed.remove(2L);
+
+        // then
+        assertNull(siteFeed.sitemap(1L));
+        assertFalse(plain(siteFeed.sitemapIndex()).contains("sitemap-1.xml"));
+    }
+
+    @Test
+    @DisplayName("피드에 있던 글이 지워지면 피드에서도 빠진다.")
+    void test4() {
+        // given
+        siteFeed.put(post(1L, "글 1"));
+        siteFeed.put(post(2L, "글 2"));
+
+        // when
+        siteFeed.on(PostChanged.builder().type(PostChanged.Type.DELETED).postId(2L).build());
+
+        // then
+        String feed = plain(siteFeed.feed());
+        assertTrue(feed.contains("글 1"));
+        assertFalse(feed.contains("글 2"));
+    }
+
+    @Test
+    @DisplayName("XML 에 쓸 수 없는 제어문자는 뺀다.")
+    void test5() {
+        assertEquals("a&amp;b&quot;c", FeedXml.escape("a&b\u0000\"c\u001F"));
+        assertEquals("미사😀", FeedXml.escape("미사😀"));
+    }
+
+    private static PostListing post(Long id, String title) {
+        return PostListing.builder()
+                .id(id)
+                .title(title)
+                .content("내용 " + id)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    private static String plain(RenderedXml xml) {
+        return new String(xml.getPlain(), StandardCharsets.UTF_8);
+    }
+
+    private static String gunzip(RenderedXml xml) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(xml.getGzip()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
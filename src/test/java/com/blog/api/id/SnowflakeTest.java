@@ -0,0 +1,86 @@
+package com.blog.api.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeTest {
+
+    @Test
+    @DisplayName("ID 는 단조 증가하고 노드 ID 와 생성 시각을 담고 있다.")
+    void test1() {
+        // given
+        Snowflake snowflake = new Snowflake(7, () -> Snowflake.EPOCH + 1000L);
+
+        // when
+        long first = snowflake.nextId();
+        long second = snowflake.nextId();
+
+        // then
+        assertTrue(second > first);
+        assertEquals(7L, Snowflake.nodeIdOf(first));
+        assertEquals(Snowflake.EPOCH + 1000L, Snowflake.timestampOf(first));
+    }
+
+    @Test
+    @DisplayName("시계가 뒤로 가거나 시퀀스가 넘쳐도 ID 는 중복되지 않는다.")
+    void test2() {
+        // given
+        long[] now = {Snowflake.EPOCH + 5000L};
+        Snowflake snowflake = new Snowflake(1, () -> now[0]);
+
+        // when
+        long last = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5000) {
+                now[0] -= 100;
+            }
+            long id = snowflake.nextId();
+
+            // then
+            assertTrue(id > last);
+            last = id;
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 발급해도 ID 는 중복되지 않는다.")
+    void test3() throws InterruptedException {
+        // given
+        Snowflake snowflake = new Snowflake(0);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(snowflake.nextId());
+                }
+                latch.countDown();
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    @DisplayName("노드 ID 범위를 벗어나면 예외가 발생한다.")
+    void test4() {
+        assertThrows(IllegalArgumentException.class, () -> new Snowflake(Snowflake.MAX_NODE_ID + 1));
+    }
+}
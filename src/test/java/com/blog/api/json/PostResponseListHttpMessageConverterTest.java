@@ -0,0 +1,146 @@
+package com.blog.api.json;
+
+import com.blog.api.domain.Comment;
+import com.blog.api.response.CommentResponse;
+import com.blog.api.response.PostResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class PostResponseListHttpMessageConverterTest {
+
+    private static final Type POST_LIST = new TypeReference<List<PostResponse>>() {}.getType();
+
+    private final PostResponseListHttpMessageConverter converter = new PostResponseListHttpMessageConverter();
+    // 스프링 부트 기본 설정처럼 날짜를 ISO-8601 문자열로 쓴다.
+    private final MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(
+            Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build());
+
+    @Test
+    @DisplayName("List<PostResponse> 만 쓰고 읽기는 하지 않는다.")
+    void test1() {
+        assertTrue(converter.canWrite(POST_LIST, List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(new TypeReference<List<String>>() {}.getType(), List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(PostResponse.class, PostResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(POST_LIST, null, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Jackson 과 같은 JSON 을 쓴다.")
+    void test2() throws IOException {
+        // given
+        List<PostResponse> posts = posts(20);
+
+        // expected
+        assertEquals(writeWithJackson(posts), writeWithConverter(posts));
+    }
+
+    @Test
+    @DisplayName("댓글 수와 댓글이 붙은 글, 본문이 없는 글도 Jackson 과 같은 JSON 을 쓴다.")
+    void test3() throws IOException {
+        // given
+        Comment comment = Comment.builder()
+                .author("작성자 \"1\"")
+                .content("댓글\n😀")
+                .build();
+        ReflectionTestUtils.setField(comment, "id", 1_234_567_890_123_456_789L);
+        comment.restoreTimes(LocalDateTime.of(2023, 1, 2, 3, 4, 5, 6_000_000), null);
+
+        Comment noDate = Comment.builder()
+                .author("작성자")
+                .content(null)
+                .build();
+
+        List<PostResponse> posts = List.of(
+                PostResponse.builder()
+                        .id(Long.MAX_VALUE)
+                        .title("블로그 제목입니다")
+                        .content("미사신도시")
+                        .version(1L)
+                        .build()
+                        .withComments(2, List.of(new CommentResponse(comment), new CommentResponse(noDate))),
+                PostResponse.builder()
+                        .id(2L)
+                        .title("제목")
+                        .content(null)
+                        .build()
+                        .withComments(0, List.of()));
+
+        // expected
+        assertEquals(writeWithJackson(posts), writeWithConverter(posts));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("페이지 크기별로 Jackson 과 쓰기 속도를 비교한다.")
+    void test4() throws IOException {
+        for (int size : new int[]{10, 100, 500, 2000}) {
+            List<PostResponse> posts = posts(size);
+            int iterations = Math.max(20, 20_000 / size);
+
+            // 워밍업
+            for (int i = 0; i < iterations; i++) {
+                writeWithJackson(posts);
+                writeWithConverter(posts);
+            }
+
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                writeWithJackson(posts);
+            }
+            long jacksonNanos = (System.nanoTime() - started) / iterations;
+
+            started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                writeWithConverter(posts);
+            }
+            long converterNanos = (System.nanoTime() - started) / iterations;
+
+            log.info("posts={}, jackson={}us, converter={}us", size, jacksonNanos / 1000, converterNanos / 1000);
+        }
+    }
+
+    private String writeWithConverter(List<PostResponse> posts) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(posts, POST_LIST, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    private String writeWithJackson(List<PostResponse> posts) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        jackson.write(posts, POST_LIST, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    private static List<PostResponse> posts(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> PostResponse.builder()
+                        .id(1_000_000L + i)
+                        .title("블로그 제목 " + i)
+                        .content("미사신도시 \"" + i + "\"\n" + "본문 ".repeat(40))
+                        .version((long) i)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.blog.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Utf8JsonWriterTest {
+
+    private static final byte[] ID = Utf8JsonWriter.name("id");
+    private static final byte[] TITLE = Utf8JsonWriter.name("title");
+    private static final byte[] CONTENT = Utf8JsonWriter.name("content");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("이스케이프와 멀티바이트 문자를 Jackson 과 똑같이 쓴다.")
+    void test1() throws Exception {
+        // given
+        String text = "한글 \"따옴표\" \\ / \n\r\t\b\f\u0001 é 😀 " + "가".repeat(10_000) + "😀";
+
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", 1L);
+        first.put("title", text);
+        first.put("content", null);
+
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("id", null);
+        second.put("title", "제목");
+        second.put("content", text);
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Utf8JsonWriter(out)
+                .beginArray()
+                .beginObject()
+                .field(ID).value(1L)
+                .field(TITLE).value(text)
+                .field(CONTENT).value((String) null)
+                .endObject()
+                .beginObject()
+                .field(ID).value((Long) null)
+                .field(TITLE).value("제목")
+                .field(CONTENT).value(new StringReader(text))
+                .endObject()
+                .endArray()
+                .flush();
+
+        // then
+        assertEquals(objectMapper.writeValueAsString(List.of(first, second)), out.toString(StandardCharsets.UTF_8));
+    }
+}
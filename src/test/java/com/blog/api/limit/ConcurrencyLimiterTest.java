@@ -0,0 +1,113 @@
+package com.blog.api.limit;
+
+import com.blog.api.exception.ServiceUnavailable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    @DisplayName("응답 시간이 일정하고 한도를 쓰고 있으면 한도를 늘린다.")
+    void test1() {
+        // given
+        GradientLimit limit = new GradientLimit(10, 5, 100, 1.5, 0.2);
+
+        // when
+        for (int i = 0; i < 100 * GradientLimit.WINDOW_SIZE; i++) {
+            limit.onSample(5 * MILLIS, limit.get());
+        }
+
+        // then
+        assertEquals(100, limit.get());
+    }
+
+    @Test
+    @DisplayName("응답 시간이 평소보다 크게 늘면 한도를 크게 줄이고, 회복되면 다시 늘린다.")
+    void test2() {
+        // given
+        GradientLimit limit = new GradientLimit(50, 5, 100, 1.5, 0.2);
+        for (int i = 0; i < 10 * GradientLimit.WINDOW_SIZE; i++) {
+            limit.onSample(5 * MILLIS, limit.get());
+        }
+        int before = limit.get();
+
+        // when
+        for (int i = 0; i < 20 * GradientLimit.WINDOW_SIZE; i++) {
+            limit.onSample(50 * MILLIS, limit.get());
+        }
+
+        // then
+        int brownout = limit.get();
+        assertTrue(brownout < before / 2, before + " -> " + brownout);
+
+        // when
+        for (int i = 0; i < 50 * GradientLimit.WINDOW_SIZE; i++) {
+            limit.onSample(5 * MILLIS, limit.get());
+        }
+
+        // then
+        assertTrue(limit.get() > brownout);
+    }
+
+    @Test
+    @DisplayName("한도를 절반도 쓰지 않으면 늘리지 않는다.")
+    void test3() {
+        // given
+        GradientLimit limit = new GradientLimit(20, 5, 100, 1.5, 0.2);
+
+        // when
+        for (int i = 0; i < 100 * GradientLimit.WINDOW_SIZE; i++) {
+            limit.onSample(5 * MILLIS, 2);
+        }
+
+        // then
+        assertEquals(20, limit.get());
+    }
+
+    @Test
+    @DisplayName("한도와 대기열이 차면 기다리지 않고 503 으로 거절한다.")
+    void test4() throws Exception {
+        // given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new GradientLimit(1, 1, 1, 1.5, 0.2), 1, Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        int started = limiter.acquire();
+        CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(limiter::acquire);
+        while (limiter.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailable.class, limiter::acquire);
+
+        // then
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1.0, registry.get("blog.limiter.rejected").tag("name", "test").functionCounter().count());
+
+        limiter.release(MILLIS, started);
+        assertEquals(1, queued.get(1, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("maxWait 안에 자리가 나지 않으면 503")
+    void test5() {
+        // given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new GradientLimit(1, 1, 1, 1.5, 0.2), 10, Duration.ofMillis(50));
+        limiter.acquire();
+
+        // expected
+        assertThrows(ServiceUnavailable.class, limiter::acquire);
+        assertEquals(1, limiter.getInFlight());
+    }
+}
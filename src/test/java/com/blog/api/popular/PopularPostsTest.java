@@ -0,0 +1,155 @@
+package com.blog.api.popular;
+
+import com.blog.api.domain.PostChanged;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopularPostsTest {
+
+    private long now = 1_000_000L;
+
+    @Test
+    @DisplayName("많이 읽힌 글 순서로 돌려준다.")
+    void test1() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(16, Duration.ofMinutes(60), () -> now);
+
+        // when
+        read(popularPosts, 1L, 5);
+        read(popularPosts, 2L, 20);
+        read(popularPosts, 3L, 10);
+
+        // then
+        List<PopularPosts.Popularity> top = popularPosts.top(2);
+        assertEquals(List.of(2L, 3L), ids(top));
+        assertEquals(20.0, top.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("카운터보다 글이 많아도 자주 읽힌 글은 놓치지 않는다.")
+    void test2() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(64, Duration.ofMinutes(60), () -> now);
+
+        // when
+        for (long id = 100; id < 5100; id++) {
+            popularPosts.record(id);
+            if (id % 4 == 0) {
+                popularPosts.record(1L);
+            }
+            if (id % 5 == 0) {
+                popularPosts.record(2L);
+            }
+            if (id % 10 == 0) {
+                popularPosts.record(3L);
+            }
+        }
+
+        // then
+        List<PopularPosts.Popularity> top = popularPosts.top(3);
+        assertEquals(List.of(1L, 2L, 3L), ids(top));
+        assertEquals(1250.0, top.get(0).getScore(), 1e-6);
+        assertEquals(0.0, top.get(0).getError(), 1e-6);
+        assertEquals(64, popularPosts.top(100).size());
+    }
+
+    @Test
+    @DisplayName("반감기가 지나면 예전 조회는 절반만 반영된다.")
+    void test3() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(16, Duration.ofMinutes(10), () -> now);
+        read(popularPosts, 1L, 10);
+
+        // when
+        now += Duration.ofMinutes(10).toMillis();
+        read(popularPosts, 2L, 6);
+
+        // then
+        List<PopularPosts.Popularity> top = popularPosts.top(2);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(5.0, top.get(1).getScore(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("오래 지나 가중치를 다시 맞춰도 순서와 점수는 유지된다.")
+    void test4() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(16, Duration.ofSeconds(1), () -> now);
+        read(popularPosts, 1L, 4);
+
+        // when
+        now += Duration.ofMinutes(2).toMillis();
+        read(popularPosts, 2L, 3);
+
+        // then
+        List<PopularPosts.Popularity> top = popularPosts.top(2);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(3.0, top.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("삭제된 글은 빠진다.")
+    void test5() {
+        // given
+        PopularPosts popularPosts = new PopularPosts(16, Duration.ofMinutes(60), () -> now);
+        read(popularPosts, 1L, 3);
+        read(popularPosts, 2L, 2);
+
+        // when
+        popularPosts.on(PostChanged.builder().type(PostChanged.Type.DELETED).postId(1L).build());
+
+        // then
+        assertEquals(List.of(2L), ids(popularPosts.top(10)));
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 기록해도 조회 수가 맞다.")
+    void test6() throws Exception {
+        // given
+        PopularPosts popularPosts = new PopularPosts(16, Duration.ofMinutes(60), () -> now);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    popularPosts.record((long) (i % 4));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        List<PopularPosts.Popularity> top = popularPosts.top(10);
+        assertEquals(4, top.size());
+        for (PopularPosts.Popularity popularity : top) {
+            assertEquals(20_000.0, popularity.getScore(), 1e-6);
+        }
+    }
+
+    private static void read(PopularPosts popularPosts, Long postId, int times) {
+        for (int i = 0; i < times; i++) {
+            popularPosts.record(postId);
+        }
+    }
+
+    private static List<Long> ids(List<PopularPosts.Popularity> popularities) {
+        return popularities.stream()
+                .map(PopularPosts.Popularity::getPostId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,206 @@
+package com.blog.api.service;
+
+import com.blog.api.domain.Comment;
+import com.blog.api.domain.Post;
+import com.blog.api.exception.PostNotFound;
+import com.blog.api.repository.CommentRepository;
+import com.blog.api.repository.PostListingRepository;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.request.CommentCreate;
+import com.blog.api.request.CommentSearch;
+import com.blog.api.request.PostSearch;
+import com.blog.api.response.CommentResponse;
+import com.blog.api.response.PostResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CommentServiceTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostListingRepository postListingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void clean() {
+        commentRepository.deleteAll();
+        postRepository.deleteAll();
+        postListingRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("댓글 작성")
+    void test1() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+
+        CommentCreate commentCreate = CommentCreate.builder()
+                .author("작성자")
+                .content("댓글입니다.")
+                .build();
+
+        // when
+        commentService.write(post.getId(), commentCreate);
+
+        // then
+        assertEquals(1L, commentRepository.count());
+        List<CommentResponse> comments = commentService.getList(post.getId(), CommentSearch.builder().build());
+        assertEquals("작성자", comments.get(0).getAuthor());
+        assertEquals("댓글입니다.", comments.get(0).getContent());
+        assertNotNull(comments.get(0).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("없는 글에 댓글 작성")
+    void test2() {
+        CommentCreate commentCreate = CommentCreate.builder()
+                .author("작성자")
+                .content("댓글입니다.")
+                .build();
+
+        assertThrows(PostNotFound.class, () -> commentService.write(1L, commentCreate));
+    }
+
+    @Test
+    @DisplayName("댓글 페이지 조회 - 작성 순")
+    void test3() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        commentRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> Comment.builder()
+                        .author("작성자 " + i)
+                        .content("댓글 " + i)
+                        .postId(post.getId())
+                        .build())
+                .collect(Collectors.toList()));
+
+        // when
+        List<CommentResponse> comments = commentService.getList(post.getId(), CommentSearch.builder()
+                .page(2)
+                .size(10)
+                .build());
+
+        // then
+        assertEquals(10, comments.size());
+        assertEquals("댓글 10", comments.get(0).getContent());
+        assertEquals("댓글 19", comments.get(9).getContent());
+    }
+
+    @Test
+    @DisplayName("글 목록에 댓글 수와 앞쪽 댓글을 붙인다")
+    void test4() {
+        // given
+        List<Post> posts = createPosts(3, 4);
+
+        // when
+        List<PostResponse> responses = postService.getList(PostSearch.builder()
+                .size(3)
+                .commentSize(2)
+                .build());
+
+        // then
+        assertEquals(3, responses.size());
+        for (PostResponse response : responses) {
+            assertEquals(4L, response.getCommentCount());
+            assertEquals(2, response.getComments().size());
+            assertTrue(response.getComments().get(0).getId() < response.getComments().get(1).getId());
+        }
+        assertEquals(posts.size(), responses.size());
+    }
+
+    @Test
+    @DisplayName("commentSize 가 없으면 댓글을 조회하지 않는다")
+    void test5() {
+        // given
+        createPosts(2, 1);
+
+        // when
+        List<PostResponse> responses = postService.getList(PostSearch.builder().build());
+
+        // then
+        assertNull(responses.get(0).getCommentCount());
+        assertNull(responses.get(0).getComments());
+    }
+
+    @Test
+    @DisplayName("글 목록 크기가 커져도 댓글 조회 쿼리 수는 같다")
+    void test6() {
+        // given
+        createPosts(30, 3);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // when
+        long small = countStatements(statistics, 5);
+        long large = countStatements(statistics, 30);
+
+        // then
+        assertEquals(small, large);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private long countStatements(Statistics statistics, int size) {
+        statistics.clear();
+        List<PostResponse> responses = postService.getList(PostSearch.builder()
+                .size(size)
+                .commentSize(3)
+                .build());
+        assertEquals(size, responses.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Post> createPosts(int postCount, int commentCount) {
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, postCount)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+
+        List<Comment> comments = new ArrayList<>();
+        for (Post post : posts) {
+            for (int i = 0; i < commentCount; i++) {
+                comments.add(Comment.builder()
+                        .author("작성자 " + i)
+                        .content("댓글 " + i)
+                        .postId(post.getId())
+                        .build());
+            }
+        }
+        commentRepository.saveAll(comments);
+        return posts;
+    }
+}
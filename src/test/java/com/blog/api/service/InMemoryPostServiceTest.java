@@ -0,0 +1,153 @@
+package com.blog.api.service;
+
+import com.blog.api.domain.Post;
+import com.blog.api.domain.PostListing;
+import com.blog.api.repository.PostListingRepository;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.request.PostCreate;
+import com.blog.api.request.PostSearch;
+import com.blog.api.response.PostResponse;
+import com.blog.api.storage.PostStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PostServiceTest 를 blog.storage.type=memory 로 다시 돌리고, 메모리 저장소에만 있는 동작을 더 확인한다.
+ */
+@TestPropertySource(properties = "blog.storage.type=memory")
+@DirtiesContext
+class InMemoryPostServiceTest extends PostServiceTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void storeDirectory(DynamicPropertyRegistry registry) {
+        registry.add("blog.storage.memory.directory", () -> directory.toString());
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostListingRepository postListingRepository;
+
+    @Autowired
+    private PostStore postStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("글은 post 테이블이 아니라 메모리 저장소에 저장된다.")
+    void test21() {
+        // when
+        postService.write(PostCreate.builder().title("제목").content("내용").tags(List.of("Java")).build());
+
+        // then
+        assertEquals(1, postStore.size());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from post", Long.class));
+
+        Post post = postRepository.findAll().get(0);
+        assertEquals(0L, post.getVersion());
+        assertNotNull(post.getCreatedAt());
+        assertEquals(List.of("java"), List.copyOf(post.getTags()));
+    }
+
+    @Test
+    @DisplayName("다른 사용자가 먼저 수정한 글을 저장하면 낙관적 락 예외")
+    void test22() {
+        // given
+        Post saved = postRepository.save(Post.builder().title("제목").content("내용").build());
+        Post first = postRepository.findById(saved.getId()).orElseThrow();
+        Post second = postRepository.findById(saved.getId()).orElseThrow();
+
+        first.setTitle("먼저 수정");
+        postRepository.save(first);
+
+        // expected
+        second.setTitle("나중 수정");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> postRepository.save(second));
+        assertEquals("먼저 수정", postRepository.findById(saved.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("그 사이 지워진 글을 저장하면 되살리지 않고 낙관적 락 예외")
+    void test23() {
+        // given
+        Post saved = postRepository.save(Post.builder().title("제목").content("내용").build());
+        Post stale = postRepository.findById(saved.getId()).orElseThrow();
+        postRepository.delete(saved);
+
+        // expected
+        stale.setTitle("수정");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> postRepository.save(stale));
+        assertFalse(postRepository.existsById(saved.getId()));
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 메모리 저장소의 변경도 되돌린다.")
+    void test24() {
+        // given
+        Post saved = postRepository.save(Post.builder().title("제목").content("내용").build());
+
+        // when
+        Long created = transactionTemplate.execute(status -> {
+            Post post = postRepository.findById(saved.getId()).orElseThrow();
+            post.setTitle("롤백될 수정");
+            postRepository.save(post);
+            Long id = postRepository.save(Post.builder().title("롤백될 글").content("내용").build()).getId();
+            status.setRollbackOnly();
+            return id;
+        });
+
+        // then
+        assertFalse(postRepository.existsById(created));
+        Post restored = postRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("제목", restored.getTitle());
+        assertEquals(0L, restored.getVersion());
+        assertEquals(1L, postRepository.count());
+    }
+
+    @Test
+    @DisplayName("목록은 post_listing 을 읽지 않고 메모리 저장소를 최신 글부터 걸어 만든다.")
+    void test25() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            postService.write(PostCreate.builder().title("제목 " + i).content("내용 " + i).build());
+        }
+        postListingRepository.deleteAll();
+
+        // when
+        List<PostListing> page = postRepository.getList(PostSearch.builder().page(2).size(2).build());
+        List<PostResponse> posts = postService.getList(PostSearch.builder().titlePrefix("제목 ").build());
+
+        // then
+        assertEquals(List.of("제목 3", "제목 2"), page.stream().map(PostListing::getTitle).collect(Collectors.toList()));
+        assertEquals(List.of("제목 5", "제목 4", "제목 3", "제목 2", "제목 1"), posts.stream()
+                .map(PostResponse::getTitle)
+                .collect(Collectors.toList()));
+        assertTrue(postService.getList(PostSearch.builder().titlePrefix("없는").build()).isEmpty());
+    }
+}
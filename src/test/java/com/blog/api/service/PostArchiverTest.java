@@ -0,0 +1,169 @@
+package com.blog.api.service;
+
+import com.blog.api.archive.ArchivedPost;
+import com.blog.api.archive.PostArchive;
+import com.blog.api.domain.Comment;
+import com.blog.api.domain.Post;
+import com.blog.api.exception.PostArchived;
+import com.blog.api.exception.PostNotFound;
+import com.blog.api.repository.CommentRepository;
+import com.blog.api.repository.PostListingRepository;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.request.CommentCreate;
+import com.blog.api.request.CommentSearch;
+import com.blog.api.request.PostEdit;
+import com.blog.api.request.PostSearch;
+import com.blog.api.response.CommentResponse;
+import com.blog.api.response.PostResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PostArchiverTest {
+
+    @Autowired
+    private PostArchiver postArchiver;
+
+    @Autowired
+    private PostArchive postArchive;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostListingRepository postListingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @BeforeEach
+    void clean() {
+        commentRepository.deleteAll();
+        postRepository.deleteAll();
+        postListingRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("오래된 글을 보관하면 post 테이블에서 빠지고 조회는 그대로 된다.")
+    void test1() {
+        // given
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+
+        // when
+        int archived = postArchiver.archive(LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertEquals(5, archived);
+        assertEquals(0L, postRepository.count());
+
+        PostResponse response = postService.get(posts.get(2).getId());
+        assertEquals("제목 2", response.getTitle());
+        assertEquals("내용 2", response.getContent());
+        assertEquals(posts.get(2).getVersion(), response.getVersion());
+
+        List<PostResponse> list = postService.getList(PostSearch.builder().size(10).build());
+        assertEquals(5, list.size());
+        assertEquals(posts.get(4).getId(), list.get(0).getId());
+
+        assertEquals(5, postService.getAll(posts.stream().map(Post::getId).collect(Collectors.toList()))
+                .getPosts().size());
+    }
+
+    @Test
+    @DisplayName("댓글이 있거나 기준 시각 이후에 쓴 글은 보관하지 않는다.")
+    void test2() {
+        // given
+        Post commented = postRepository.save(Post.builder().title("댓글 있는 글").content("내용").build());
+        commentRepository.save(Comment.builder().author("작성자").content("댓글").postId(commented.getId()).build());
+        Post recent = postRepository.save(Post.builder().title("최근 글").content("내용").build());
+
+        // when
+        int archived = postArchiver.archive(recent.getCreatedAt().minusDays(1));
+        int archivedNow = postArchiver.archive(LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertEquals(0, archived);
+        assertEquals(1, archivedNow);
+        assertTrue(postRepository.existsById(commented.getId()));
+        assertTrue(postArchive.contains(recent.getId()));
+    }
+
+    @Test
+    @DisplayName("보관된 글은 수정할 수 없고 삭제할 수 있다.")
+    void test3() {
+        // given
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").build());
+        postArchiver.archive(LocalDateTime.now().plusSeconds(1));
+
+        // expected
+        PostEdit postEdit = PostEdit.builder().title("새 제목").content("새 내용").build();
+        assertThrows(PostArchived.class, () -> postService.edit(post.getId(), postEdit));
+
+        postService.delete(post.getId());
+        assertThrows(PostNotFound.class, () -> postService.get(post.getId()));
+        assertFalse(postListingRepository.existsById(post.getId()));
+    }
+
+    @Test
+    @DisplayName("보관된 글에도 댓글을 달 수 있고 글을 지우면 댓글도 지워진다.")
+    void test4() {
+        // given
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").build());
+        postArchiver.archive(LocalDateTime.now().plusSeconds(1));
+
+        // when
+        commentService.write(post.getId(), CommentCreate.builder().author("작성자").content("댓글").build());
+
+        // then
+        List<CommentResponse> comments = commentService.getList(post.getId(), CommentSearch.builder().build());
+        assertEquals(1, comments.size());
+        assertEquals("댓글", comments.get(0).getContent());
+
+        postService.delete(post.getId());
+        assertEquals(0L, commentRepository.count());
+        assertThrows(PostNotFound.class, () -> commentService.getList(post.getId(), CommentSearch.builder().build()));
+    }
+
+    @Test
+    @DisplayName("보관 뒤 DB 에 남은 글을 지우면 보관본도 읽히지 않는다.")
+    void test5() {
+        // given
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").build());
+        postArchive.add(List.of(ArchivedPost.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .version(post.getVersion())
+                .tags(Set.of())
+                .build()));
+
+        // when
+        postService.delete(post.getId());
+
+        // then
+        assertFalse(postArchive.contains(post.getId()));
+        assertThrows(PostNotFound.class, () -> postService.get(post.getId()));
+    }
+}
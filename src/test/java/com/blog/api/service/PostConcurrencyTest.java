@@ -0,0 +1,273 @@
+package com.blog.api.service;
+
+import com.blog.api.domain.Post;
+import com.blog.api.exception.PostConflict;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.request.PostEdit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 글을 여러 스레드에서 동시에 수정할 때의 정합성과 처리량
+ * 처리량은 로그로만 보므로 benchmark 태그로 따로 돌린다. (./gradlew benchmark)
+ */
+@Slf4j
+@SpringBootTest
+class PostConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("서로 다른 필드를 동시에 수정하면 재시도로 모두 반영된다.")
+    void test1() throws Exception {
+        // given
+        Post post = save("블로그 제목", "미사신도시");
+        int edits = 20;
+
+        // when
+        List<Future<Void>> futures = runConcurrently(List.of(
+                () -> {
+                    for (int i = 0; i < edits; i++) {
+                        postService.edit(post.getId(), PostEdit.builder().title("제목 " + i).build());
+                    }
+                    return null;
+                },
+                () -> {
+                    for (int i = 0; i < edits; i++) {
+                        postService.edit(post.getId(), PostEdit.builder().content("내용 " + i).build());
+                    }
+                    return null;
+                }));
+
+        // then
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        Post changed = postRepository.findById(post.getId()).orElseThrow();
+        assertEquals("제목 " + (edits - 1), changed.getTitle());
+        assertEquals("내용 " + (edits - 1), changed.getContent());
+        assertEquals(edits * 2L, changed.getVersion());
+    }
+
+    @Test
+    @DisplayName("같은 버전(If-Match)으로 동시에 수정하면 하나만 성공하고 나머지는 409 다.")
+    void test2() throws Exception {
+        // given
+        Post post = save("블로그 제목", "미사신도시");
+        Long version = post.getVersion();
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger conflict = new AtomicInteger();
+
+        List<Callable<Void>> tasks = IntStream.range(0, THREADS)
+                .<Callable<Void>>mapToObj(i -> () -> {
+                    try {
+                        postService.edit(post.getId(), PostEdit.builder().title("제목 " + i).build(), version);
+                        success.incrementAndGet();
+                    } catch (PostConflict e) {
+                        assertEquals(409, e.getStatusCode());
+                        conflict.incrementAndGet();
+                    }
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        // when
+        for (Future<Void> future : runConcurrently(tasks)) {
+            future.get();
+        }
+
+        // then
+        assertEquals(1, success.get());
+        assertEquals(THREADS - 1, conflict.get());
+        assertEquals(version + 1, postRepository.findById(post.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("같은 필드를 동시에 수정하면 잃어버린 수정 없이 반영되거나 409 로 거절된다.")
+    void test3() throws Exception {
+        // given
+        Post post = save("블로그 제목", "미사신도시");
+        int editsPerThread = 10;
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger conflict = new AtomicInteger();
+
+        List<Callable<Void>> tasks = IntStream.range(0, THREADS)
+                .<Callable<Void>>mapToObj(t -> () -> {
+                    for (int i = 0; i < editsPerThread; i++) {
+                        try {
+                            postService.edit(post.getId(), PostEdit.builder().title("제목 " + t + "-" + i).build());
+                            success.incrementAndGet();
+                        } catch (PostConflict e) {
+                            conflict.incrementAndGet();
+                        }
+                    }
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        // when
+        for (Future<Void> future : runConcurrently(tasks)) {
+            future.get();
+        }
+
+        // then
+        Post changed = postRepository.findById(post.getId()).orElseThrow();
+        assertEquals(THREADS * editsPerThread, success.get() + conflict.get());
+        assertEquals(success.get(), changed.getVersion());
+        assertTrue(success.get() > 0);
+        assertTrue(changed.getTitle().startsWith("제목 "));
+    }
+
+    @Test
+    @DisplayName("서로 다른 글은 동시에 수정해도 충돌하지 않는다.")
+    void test4() throws Exception {
+        // given
+        List<Post> posts = IntStream.range(0, THREADS)
+                .mapToObj(i -> save("블로그 제목 " + i, "미사신도시 " + i))
+                .collect(Collectors.toList());
+        int editsPerThread = 50;
+
+        List<Callable<Void>> tasks = posts.stream()
+                .<Callable<Void>>map(post -> () -> {
+                    for (int i = 0; i < editsPerThread; i++) {
+                        postService.edit(post.getId(), PostEdit.builder().content("교산신도시 " + i).build());
+                    }
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        // when
+        for (Future<Void> future : runConcurrently(tasks)) {
+            future.get();
+        }
+
+        // then
+        for (Post post : posts) {
+            Post changed = postRepository.findById(post.getId()).orElseThrow();
+            assertEquals("교산신도시 " + (editsPerThread - 1), changed.getContent());
+            assertEquals((long) editsPerThread, changed.getVersion());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("같은 글, 서로 다른 글을 동시에 수정할 때의 처리량")
+    void test5() throws Exception {
+        // given
+        Post shared = save("블로그 제목", "미사신도시");
+        List<Post> posts = IntStream.range(0, THREADS)
+                .mapToObj(i -> save("블로그 제목 " + i, "미사신도시 " + i))
+                .collect(Collectors.toList());
+        int editsPerThread = 200;
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger conflict = new AtomicInteger();
+
+        List<Callable<Void>> sameFieldTasks = IntStream.range(0, THREADS)
+                .<Callable<Void>>mapToObj(t -> () -> {
+                    for (int i = 0; i < editsPerThread; i++) {
+                        try {
+                            postService.edit(shared.getId(), PostEdit.builder().title("제목 " + t + "-" + i).build());
+                            success.incrementAndGet();
+                        } catch (PostConflict e) {
+                            conflict.incrementAndGet();
+                        }
+                    }
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        List<Callable<Void>> independentTasks = posts.stream()
+                .<Callable<Void>>map(post -> () -> {
+                    for (int i = 0; i < editsPerThread; i++) {
+                        postService.edit(post.getId(), PostEdit.builder().content("교산신도시 " + i).build());
+                    }
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        // when
+        long sameFieldNanos = elapsed(sameFieldTasks);
+        long independentNanos = elapsed(independentTasks);
+
+        // then
+        assertEquals(THREADS * editsPerThread, success.get() + conflict.get());
+        assertEquals(success.get(), postRepository.findById(shared.getId()).orElseThrow().getVersion());
+        log.info("same field edits: success={}, conflict={}, {} ops/s",
+                success.get(), conflict.get(), opsPerSecond(THREADS * editsPerThread, sameFieldNanos));
+        log.info("independent edits: {} ops/s", opsPerSecond(THREADS * editsPerThread, independentNanos));
+    }
+
+    private Post save(String title, String content) {
+        return postRepository.save(Post.builder()
+                .title(title)
+                .content(content)
+                .build());
+    }
+
+    // 모든 작업이 준비된 뒤 한꺼번에 출발시킨다.
+    private <T> List<Future<T>> runConcurrently(List<Callable<T>> tasks) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        return futures;
+    }
+
+    private <T> long elapsed(List<Callable<T>> tasks) throws Exception {
+        long started = System.nanoTime();
+        for (Future<T> future : runConcurrently(tasks)) {
+            future.get();
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static long opsPerSecond(int operations, long elapsedNanos) {
+        return operations * 1_000_000_000L / Math.max(1L, elapsedNanos);
+    }
+}
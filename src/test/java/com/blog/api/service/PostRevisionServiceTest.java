@@ -0,0 +1,244 @@
+package com.blog.api.service;
+
+import com.blog.api.domain.Post;
+import com.blog.api.domain.PostRevision;
+import com.blog.api.exception.PostNotFound;
+import com.blog.api.exception.PostRevisionNotFound;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.repository.PostRevisionRepository;
+import com.blog.api.request.PostCreate;
+import com.blog.api.request.PostEdit;
+import com.blog.api.response.PostRevisionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PostRevisionServiceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRevisionService postRevisionService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostRevisionRepository postRevisionRepository;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+        postRevisionRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("수정할 때마다 이력이 남고 모든 버전을 복원할 수 있다.")
+    void test1() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목 0")
+                .content("미사신도시 0 입니다.")
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        List<String> contents = new ArrayList<>();
+        contents.add("미사신도시 0 입니다.");
+
+        // when
+        for (int i = 1; i <= 24; i++) {
+            String content = "미사신도시 " + i + " 입니다." + "!".repeat(i % 3);
+            postService.edit(post.getId(), PostEdit.builder()
+                    .title("제목 " + i)
+                    .content(content)
+                    .build());
+            contents.add(content);
+        }
+
+        // then
+        List<PostRevisionResponse> revisions = postRevisionService.getList(post.getId());
+        assertEquals(25, revisions.size());
+        assertEquals(25, revisions.get(0).getRevision());
+
+        for (int revision = 1; revision <= 25; revision++) {
+            PostRevisionResponse response = postRevisionService.get(post.getId(), revision);
+            assertEquals("제목 " + (revision - 1), response.getTitle());
+            assertEquals(contents.get(revision - 1), response.getContent());
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷이 아닌 이력은 바뀐 부분만 저장한다.")
+    void test2() {
+        // given
+        String content = "가".repeat(1000);
+        postService.write(PostCreate.builder()
+                .title("제목")
+                .content(content)
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("제목")
+                .content(content + "나")
+                .build());
+
+        // then
+        PostRevision revision = postRevisionRepository.findTopByPostIdOrderByRevisionDesc(post.getId())
+                .orElseThrow();
+        assertFalse(revision.isSnapshot());
+        assertEquals("나", revision.getContent());
+        assertEquals(content + "나", postRevisionService.get(post.getId(), 2).getContent());
+    }
+
+    @Test
+    @DisplayName("이력 기능 이전에 작성된 글은 첫 수정시 수정 전 상태가 첫 이력이 된다.")
+    void test3() {
+        // given
+        Post post = Post.builder()
+                .title("블로그 제목")
+                .content("미사신도시")
+                .build();
+        postRepository.save(post);
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("블로그 제목 수정")
+                .content("교산신도시")
+                .build());
+
+        // then
+        assertEquals("미사신도시", postRevisionService.get(post.getId(), 1).getContent());
+        assertEquals("교산신도시", postRevisionService.get(post.getId(), 2).getContent());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 이력 조회")
+    void test4() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        // expected
+        assertThrows(PostRevisionNotFound.class, () -> postRevisionService.get(post.getId(), 2));
+    }
+
+    @Test
+    @DisplayName("스냅샷 간격을 바꿔도 이전 이력을 모두 복원할 수 있다.")
+    void test5() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목 0")
+                .content("미사신도시 0")
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        List<String> contents = new ArrayList<>();
+        contents.add("미사신도시 0");
+
+        // when
+        try {
+            for (int i = 1; i <= 12; i++) {
+                if (i == 5) {
+                    ReflectionTestUtils.setField(postRevisionService, "snapshotInterval", 3);
+                }
+                String content = "미사신도시 " + i;
+                postService.edit(post.getId(), PostEdit.builder()
+                        .title("제목 " + i)
+                        .content(content)
+                        .build());
+                contents.add(content);
+            }
+        } finally {
+            ReflectionTestUtils.setField(postRevisionService, "snapshotInterval", 10);
+        }
+
+        // then
+        for (int revision = 1; revision <= 13; revision++) {
+            assertEquals(contents.get(revision - 1), postRevisionService.get(post.getId(), revision).getContent());
+        }
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 글의 이력 목록 조회")
+    void test6() {
+        assertThrows(PostNotFound.class, () -> postRevisionService.getList(1L));
+    }
+
+    @Test
+    @DisplayName("제목, 본문이 그대로인 수정은 이력을 남기지 않는다.")
+    void test7() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("제목")
+                .content("내용")
+                .tags(List.of("java"))
+                .build());
+
+        // then
+        assertEquals(1, postRevisionService.getList(post.getId()).size());
+    }
+
+    @Test
+    @DisplayName("아무것도 바꾸지 않는 수정이 동시에 들어와도 모두 성공한다.")
+    void test8() throws Exception {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목")
+                .content("내용")
+                .build());
+        Post post = postRepository.findAll().get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    postService.edit(post.getId(), PostEdit.builder()
+                            .title("제목")
+                            .content("내용")
+                            .build());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertEquals(1, postRevisionService.getList(post.getId()).size());
+    }
+}
@@ -1,25 +1,42 @@
 package com.blog.api.service;
 
 import com.blog.api.domain.Post;
+import com.blog.api.domain.PostChanged;
+import com.blog.api.exception.InvalidRequest;
 import com.blog.api.exception.PostNotFound;
+import com.blog.api.repository.PostListingRepository;
 import com.blog.api.repository.PostRepository;
 import com.blog.api.request.PostCreate;
 import com.blog.api.request.PostEdit;
 import com.blog.api.request.PostSearch;
 import com.blog.api.response.PostResponse;
+import com.blog.api.tag.TagIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@Slf4j
 @SpringBootTest
+@RecordApplicationEvents
 class PostServiceTest {
 
     @Autowired
@@ -28,9 +45,23 @@ class PostServiceTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostListingRepository postListingRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TagIndex tagIndex;
+
     @BeforeEach
     void clean() {
         postRepository.deleteAll();
+        postListingRepository.deleteAll();
+        tagIndex.rebuild();
     }
 
     @Test
@@ -246,4 +277,257 @@ class PostServiceTest {
             postService.edit(post.getId() +1L, postEdit);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("글 작성, 수정, 삭제시 변경 이벤트가 발행된다.")
+    void test11() {
+        // given
+        PostCreate postCreate = PostCreate.builder()
+                .title("제목입니다.")
+                .content("내용입니다.")
+                .build();
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("제목 수정")
+                .content("내용 수정")
+                .build();
+
+        // when
+        postService.write(postCreate);
+        Long postId = postRepository.findAll().get(0).getId();
+        postService.edit(postId, postEdit);
+        postService.delete(postId);
+
+        // then
+        List<PostChanged> changes = events.stream(PostChanged.class)
+                .collect(Collectors.toList());
+
+        assertEquals(3, changes.size());
+        assertEquals(PostChanged.Type.CREATED, changes.get(0).getType());
+        assertEquals(PostChanged.Type.EDITED, changes.get(1).getType());
+        assertEquals("제목 수정", changes.get(1).getTitle());
+        assertEquals(PostChanged.Type.DELETED, changes.get(2).getType());
+        assertTrue(changes.stream().allMatch(change -> postId.equals(change.getPostId())));
+    }
+
+    @Test
+    @DisplayName("글 여러개 조회 - 제목 접두어로 거른다.")
+    void test12() {
+        // given
+        List<Post> requestPosts = IntStream.range(0, 20)
+                .mapToObj(i -> Post.builder()
+                        .title((i % 2 == 0 ? "자바 " : "스프링 ") + i)
+                        .content("미사신도시 " + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        PostSearch postSearch = PostSearch.builder()
+                .titlePrefix("자바")
+                .build();
+
+        // when
+        List<PostResponse> posts = postService.getList(postSearch);
+
+        // then
+        assertEquals(10L, posts.size());
+        assertEquals("자바 18", posts.get(0).getTitle());
+        assertTrue(posts.stream().allMatch(post -> post.getTitle().startsWith("자바")));
+    }
+
+    @Test
+    @DisplayName("글 여러개 조회 - 작성일로 거른다.")
+    void test13() {
+        // given
+        Post post = Post.builder()
+                .title("블로그 제목")
+                .content("미사신도시")
+                .build();
+        postRepository.save(post);
+
+        PostSearch before = PostSearch.builder()
+                .createdTo(post.getCreatedAt())
+                .build();
+
+        PostSearch after = PostSearch.builder()
+                .createdFrom(post.getCreatedAt())
+                .createdTo(LocalDateTime.now().plusDays(1))
+                .build();
+
+        // expected
+        assertEquals(0L, postService.getList(before).size());
+        assertEquals(1L, postService.getList(after).size());
+    }
+
+    @Test
+    @DisplayName("글 여러개 조회 - 목록에는 본문 앞부분만 내려준다.")
+    void test14() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("블로그 제목")
+                .content("미사신도시".repeat(100))
+                .build());
+
+        // when
+        List<PostResponse> posts = postService.getList(PostSearch.builder().build());
+
+        // then
+        assertEquals(1L, posts.size());
+        assertEquals("미사신도시".repeat(100).substring(0, 200), posts.get(0).getContent());
+    }
+
+    @Test
+    @DisplayName("글 수정, 삭제가 목록에 바로 반영된다.")
+    void test15() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("블로그 제목")
+                .content("미사신도시")
+                .build());
+        Long postId = postRepository.findAll().get(0).getId();
+
+        // when
+        postService.edit(postId, PostEdit.builder()
+                .title("블로그 제목 수정")
+                .content("교산신도시")
+                .build());
+
+        // then
+        List<PostResponse> posts = postService.getList(PostSearch.builder().build());
+        assertEquals("블로그 제목 수정", posts.get(0).getTitle());
+        assertEquals("교산신도시", posts.get(0).getContent());
+
+        // when
+        postService.delete(postId);
+
+        // then
+        assertEquals(0L, postService.getList(PostSearch.builder().build()).size());
+    }
+
+    @Test
+    @DisplayName("글 1개 조회 - DB 문자 스트림에서 바로 쓴 JSON 은 Jackson 결과와 같다.")
+    void test16() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("블로그 \"제목\" 입니다")
+                .content("미사신도시\n\t😀 ".repeat(20_000))
+                .build();
+        postRepository.save(post);
+
+        // when
+        String expected = objectMapper.writeValueAsString(postService.get(post.getId()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicReference<Long> version = new AtomicReference<>();
+        postService.writeJson(post.getId(), postVersion -> {
+            version.set(postVersion);
+            return out;
+        });
+
+        // then
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        assertEquals(post.getVersion(), version.get());
+    }
+
+    @Test
+    @DisplayName("글 1개 조회 - 존재하지 않는 글을 JSON 으로 쓰면 예외가 발생한다.")
+    void test17() {
+        assertThrows(PostNotFound.class, () -> postService.writeJson(1L, version -> new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("태그 검색식으로 글 목록 조회")
+    void test18() {
+        // given
+        postService.write(PostCreate.builder().title("글 1").content("내용").tags(List.of("Java", "performance")).build());
+        postService.write(PostCreate.builder().title("글 2").content("내용").tags(List.of("java", "performance", "draft")).build());
+        postService.write(PostCreate.builder().title("글 3").content("내용").tags(List.of("kotlin")).build());
+
+        // when
+        List<PostResponse> posts = postService.getList(PostSearch.builder()
+                .tags("java AND performance NOT draft")
+                .build());
+
+        // then
+        assertEquals(1, posts.size());
+        assertEquals("글 1", posts.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("글을 수정하거나 삭제하면 태그 검색에 반영된다.")
+    void test19() {
+        // given
+        postService.write(PostCreate.builder().title("글 1").content("내용").tags(List.of("java", "draft")).build());
+        Post post = postRepository.findAll().get(0);
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder().title("글 1").content("내용").tags(List.of("java")).build());
+
+        // then
+        PostSearch search = PostSearch.builder().tags("java NOT draft").build();
+        assertEquals(1, postService.getList(search).size());
+
+        postService.delete(post.getId());
+        assertEquals(0, postService.getList(search).size());
+    }
+
+    @Test
+    @DisplayName("이미 있는 글과 거의 같은 본문은 작성할 수 없고, 원래 글이 지워지면 작성할 수 있다.")
+    void test20() {
+        // given
+        String content = IntStream.range(0, 40)
+                .mapToObj(i -> "미사신도시 " + i + "번지")
+                .collect(Collectors.joining(" "));
+        postService.write(PostCreate.builder().title("글 1").content(content).build());
+        Post post = postRepository.findAll().get(0);
+        PostCreate duplicate = PostCreate.builder().title("글 2").content(content + " 끝").build();
+
+        // expected
+        assertThrows(InvalidRequest.class, () -> postService.write(duplicate));
+
+        postService.delete(post.getId());
+        postService.write(duplicate);
+        assertEquals(1L, postRepository.count());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("큰 글 1개 조회시 Jackson 경로와 UTF-8 직접 쓰기 경로의 할당량을 비교한다.")
+    void test26() throws Exception {
+        // given
+        Post post = Post.builder()
+                .title("블로그 제목")
+                .content("미사신도시 😀 ".repeat(200_000))
+                .build();
+        postRepository.save(post);
+        int iterations = 20;
+
+        // 워밍업
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), postService.get(post.getId()));
+            postService.writeJson(post.getId(), version -> OutputStream.nullOutputStream());
+        }
+
+        // when
+        long before = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), postService.get(post.getId()));
+        }
+        long jackson = (allocatedBytes() - before) / iterations;
+
+        before = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            postService.writeJson(post.getId(), version -> OutputStream.nullOutputStream());
+        }
+        long raw = (allocatedBytes() - before) / iterations;
+
+        // then
+        log.info("content chars={}, allocated bytes per read: jackson={}, raw={}",
+                post.getContent().length(), jackson, raw);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,153 @@
+package com.blog.api.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("닫지 않고 멈춰도 WAL 로 다시 읽고, 최신 글부터 순회할 수 있다.")
+    void test1() {
+        // given
+        PostStore store = new PostStore(directory, false);
+        for (long id = 1; id <= 5; id++) {
+            assertTrue(store.replace(id, null, post(id, 0L)));
+        }
+        store.replace(3L, store.get(3L).orElseThrow(), post(3L, 1L));
+        store.remove(2L);
+
+        // when
+        PostStore reopened = new PostStore(directory, false);
+
+        // then
+        assertEquals(List.of(5L, 4L, 3L, 1L), ids(reopened.descending()));
+        StoredPost found = reopened.get(3L).orElseThrow();
+        assertEquals(1L, found.getVersion());
+        assertEquals("본문 3 😀", found.getContent());
+        assertEquals(List.of("java", "성능"), found.getTags());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456789), found.getCreatedAt());
+        assertNull(found.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("지금 값이 expected 가 아니면 바꾸지 않는다.")
+    void test2() {
+        // given
+        PostStore store = new PostStore(directory, false);
+        store.replace(1L, null, post(1L, 0L));
+        StoredPost read = store.get(1L).orElseThrow();
+        store.replace(1L, read, post(1L, 1L));
+
+        // expected
+        assertFalse(store.replace(1L, null, post(1L, 0L)));
+        assertFalse(store.replace(1L, read, post(1L, 2L)));
+        assertEquals(1L, store.get(1L).orElseThrow().getVersion());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이전 WAL 은 지우고, 스냅샷 + 이후 WAL 로 복구한다.")
+    void test3() throws Exception {
+        // given
+        PostStore store = new PostStore(directory, false);
+        for (long id = 1; id <= 3; id++) {
+            store.replace(id, null, post(id, 0L));
+        }
+
+        // when
+        store.snapshot();
+        store.replace(4L, null, post(4L, 0L));
+        store.remove(1L);
+
+        // then
+        assertEquals(1, files(".wal").size());
+        assertTrue(Files.exists(directory.resolve("snapshot")));
+        assertEquals(List.of(2L, 3L, 4L), ids(new PostStore(directory, false).ascending()));
+    }
+
+    @Test
+    @DisplayName("WAL 끝이 잘렸으면 온전한 레코드까지만 적용한다.")
+    void test4() throws Exception {
+        // given
+        PostStore store = new PostStore(directory, false);
+        store.replace(1L, null, post(1L, 0L));
+        store.clear();
+        store.replace(2L, null, post(2L, 0L));
+        store.replace(3L, null, post(3L, 0L));
+
+        Path wal = files(".wal").get(0);
+        byte[] bytes = Files.readAllBytes(wal);
+        Files.write(wal, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // when
+        PostStore reopened = new PostStore(directory, false);
+
+        // then
+        assertEquals(List.of(2L), ids(reopened.ascending()));
+        reopened.replace(5L, null, post(5L, 0L));
+        reopened.close();
+        assertEquals(List.of(2L, 5L), ids(new PostStore(directory, false).ascending()));
+    }
+
+    @Test
+    @DisplayName("WAL 에 쓰지 못하면 메모리에도 반영하지 않는다.")
+    void test5() throws Exception {
+        // given
+        PostStore store = new PostStore(directory, false);
+        store.replace(1L, null, post(1L, 0L));
+        ((FileChannel) ReflectionTestUtils.getField(store, "wal")).close();
+
+        // expected
+        assertThrows(UncheckedIOException.class, () -> store.replace(2L, null, post(2L, 0L)));
+        assertFalse(store.contains(2L));
+        assertThrows(UncheckedIOException.class, () -> store.remove(1L));
+        assertTrue(store.contains(1L));
+
+        PostStore reopened = new PostStore(directory, false);
+        assertEquals(List.of(1L), ids(reopened.ascending()));
+    }
+
+    private static StoredPost post(long id, Long version) {
+        return StoredPost.builder()
+                .id(id)
+                .version(version)
+                .title("제목 " + id)
+                .content("본문 " + id + " 😀")
+                .tags(List.of("java", "성능"))
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123456789))
+                .build();
+    }
+
+    private static List<Long> ids(Iterable<StoredPost> posts) {
+        List<Long> ids = new ArrayList<>();
+        posts.forEach(post -> ids.add(post.getId()));
+        return ids;
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
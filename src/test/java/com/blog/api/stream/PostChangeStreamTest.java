@@ -0,0 +1,156 @@
+package com.blog.api.stream;
+
+import com.blog.api.domain.PostChanged;
+import com.blog.api.response.PostEventResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostChangeStreamTest {
+
+    // 전송 작업을 쌓아 두었다가 run() 에서 실행한다.
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private final PostChangeStream stream = new PostChangeStream(4, 60_000L, tasks::add);
+
+    @Test
+    @DisplayName("링 버퍼가 한 바퀴 돌아도 따라오는 구독자는 모든 이벤트를 순서대로 받는다.")
+    void test1() {
+        // given
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(null, emitter);
+
+        // when
+        publish(1L, 2L, 3L);
+        run();
+        publish(4L, 5L, 6L);
+        run();
+
+        // then
+        assertEquals(List.of("post:1", "post:2", "post:3", "post:4", "post:5", "post:6"), emitter.events());
+    }
+
+    @Test
+    @DisplayName("버퍼보다 뒤처진 구독자는 resync 를 받고 남아있는 가장 오래된 이벤트부터 받는다.")
+    void test2() {
+        // given
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(null, emitter);
+
+        // when
+        publish(1L, 2L, 3L, 4L, 5L, 6L);
+        run();
+
+        // then
+        assertEquals(List.of("resync", "post:3", "post:4", "post:5", "post:6"), emitter.events());
+        assertEquals(emitter.ids.get(1) - 1, emitter.ids.get(0));
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 다음 이벤트부터 이어서 받는다.")
+    void test3() {
+        // given
+        RecordingEmitter first = new RecordingEmitter();
+        stream.subscribe(null, first);
+        publish(1L, 2L, 3L);
+        run();
+
+        // when
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe(first.lastEventIds.get(0), resumed);
+        run();
+
+        // then
+        assertEquals(List.of("post:2", "post:3"), resumed.events());
+    }
+
+    @Test
+    @DisplayName("버퍼에 없거나 이전 실행의 Last-Event-ID 면 resync 를 받고 이후 이벤트만 받는다.")
+    void test4() {
+        // given
+        RecordingEmitter first = new RecordingEmitter();
+        stream.subscribe(null, first);
+        publish(1L);
+        run();
+        String oldest = first.lastEventIds.get(0);
+        publish(2L, 3L, 4L, 5L, 6L);
+        run();
+
+        // when
+        RecordingEmitter tooOld = new RecordingEmitter();
+        stream.subscribe(oldest, tooOld);
+        RecordingEmitter unknown = new RecordingEmitter();
+        stream.subscribe("previous-1", unknown);
+        publish(7L);
+        run();
+
+        // then
+        assertEquals(List.of("resync", "post:7"), tooOld.events());
+        assertEquals(List.of("resync", "post:7"), unknown.events());
+    }
+
+    private void publish(Long... postIds) {
+        for (Long postId : postIds) {
+            stream.publish(new PostEventResponse(PostChanged.builder()
+                    .type(PostChanged.Type.CREATED)
+                    .postId(postId)
+                    .title("제목 " + postId)
+                    .build()));
+        }
+    }
+
+    private void run() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    // 보낸 이벤트를 "이름:글 ID" 로 기록한다.
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<String> lastEventIds = new ArrayList<>();
+        private final List<Long> ids = new ArrayList<>();
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            Set<DataWithMediaType> parts = builder.build();
+            StringBuilder text = new StringBuilder();
+            Long postId = null;
+            for (DataWithMediaType part : parts) {
+                if (part.getData() instanceof PostEventResponse) {
+                    postId = ((PostEventResponse) part.getData()).getPostId();
+                } else {
+                    text.append(part.getData());
+                }
+            }
+
+            String id = null;
+            String name = null;
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                }
+            }
+            names.add(postId == null ? name : name + ":" + postId);
+            lastEventIds.add(id);
+            ids.add(Long.parseLong(id.substring(id.lastIndexOf('-') + 1)));
+        }
+
+        private List<String> events() {
+            return names;
+        }
+    }
+}
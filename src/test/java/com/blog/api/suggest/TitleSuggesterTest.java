@@ -0,0 +1,71 @@
+package com.blog.api.suggest;
+
+import com.blog.api.response.PostSuggestResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSuggesterTest {
+
+    private TitleSuggester titleSuggester;
+
+    @BeforeEach
+    void setUp() {
+        titleSuggester = new TitleSuggester(null);
+        titleSuggester.put(1L, "자바 성능 튜닝");
+        titleSuggester.put(2L, "자바스크립트 입문");
+        titleSuggester.put(3L, "닭갈비 맛집");
+        titleSuggester.put(4L, "달력 만들기");
+        titleSuggester.put(5L, "Java Tips");
+    }
+
+    @Test
+    @DisplayName("최근 글 순으로 접두어가 맞는 제목을 돌려준다.")
+    void test1() {
+        assertEquals(List.of(2L, 1L), ids("자바"));
+        assertEquals(List.of(5L), ids("JAVA t"));
+        assertEquals(List.of(1L), ids("성능"));
+        assertEquals("자바 성능 튜닝", titleSuggester.suggest("튜", 10).get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("입력 중인 한글(초성, 받침이 덜 된 글자)도 접두어로 찾는다.")
+    void test2() {
+        assertEquals(List.of(2L, 1L), ids("ㅈ"));
+        assertEquals(List.of(2L, 1L), ids("잡"));
+        assertEquals(List.of(4L, 3L), ids("달"));
+        assertEquals(List.of(3L), ids("닭"));
+        assertEquals(List.of(3L), ids("닭ㄱ"));
+    }
+
+    @Test
+    @DisplayName("수정, 삭제가 바로 반영된다.")
+    void test3() {
+        // when
+        titleSuggester.put(2L, "타입스크립트 입문");
+        titleSuggester.remove(4L);
+
+        // then
+        assertEquals(List.of(1L), ids("자바"));
+        assertEquals(List.of(2L), ids("타입"));
+        assertEquals(List.of(3L), ids("달"));
+    }
+
+    @Test
+    @DisplayName("size 개까지만 돌려주고 빈 검색어는 결과가 없다.")
+    void test4() {
+        assertEquals(1, titleSuggester.suggest("ㅈ", 1).size());
+        assertTrue(titleSuggester.suggest("  ", 10).isEmpty());
+    }
+
+    private List<Long> ids(String query) {
+        return titleSuggester.suggest(query, 10).stream()
+                .map(PostSuggestResponse::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+package com.blog.api.tag;
+
+import com.blog.api.exception.InvalidRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagIndexTest {
+
+    private TagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new TagIndex(null, null);
+        tagIndex.put(1L, List.of("java", "performance"));
+        tagIndex.put(2L, List.of("java", "performance", "draft"));
+        tagIndex.put(3L, List.of("kotlin", "performance"));
+        tagIndex.put(4L, List.of("java"));
+        tagIndex.put(5L, List.of());
+    }
+
+    @Test
+    @DisplayName("AND / NOT 검색식은 ID 내림차순으로 돌려준다.")
+    void test1() {
+        assertEquals(List.of(1L), search("java AND performance NOT draft"));
+        assertEquals(List.of(4L, 2L, 1L), search("java"));
+        assertEquals(List.of(4L, 1L), search("java NOT draft"));
+    }
+
+    @Test
+    @DisplayName("OR, 괄호, 단독 NOT")
+    void test2() {
+        assertEquals(List.of(4L, 3L, 2L, 1L), search("java OR kotlin"));
+        assertEquals(List.of(3L, 1L), search("(java OR kotlin) performance NOT draft"));
+        assertEquals(List.of(5L, 4L), search("NOT performance"));
+        assertEquals(List.of(), search("rust"));
+    }
+
+    @Test
+    @DisplayName("페이지 단위로 잘라서 돌려준다.")
+    void test3() {
+        assertEquals(List.of(3L, 2L), tagIndex.search(TagExpression.parse("performance OR java"), 1, 2));
+        assertEquals(List.of(), tagIndex.search(TagExpression.parse("java"), 3, 2));
+    }
+
+    @Test
+    @DisplayName("수정하면 태그가 바뀌고 삭제하면 빠진다.")
+    void test4() {
+        // when
+        tagIndex.put(2L, List.of("java", "performance"));
+        tagIndex.put(1L, null);
+        tagIndex.remove(4L);
+
+        // then
+        assertEquals(List.of(2L, 1L), search("java AND performance NOT draft"));
+        assertFalse(tagIndex.getTags().contains("draft"));
+    }
+
+    @Test
+    @DisplayName("ID 가 순서 없이 들어와도 ID 내림차순을 지킨다.")
+    void test5() {
+        // when
+        tagIndex.put(0L, List.of("java"));
+
+        // then
+        assertEquals(List.of(4L, 2L, 1L, 0L), search("java"));
+        assertEquals(List.of(1L, 0L), tagIndex.search(TagExpression.parse("java"), 2, 10));
+    }
+
+    @Test
+    @DisplayName("잘못된 검색식")
+    void test6() {
+        assertThrows(InvalidRequest.class, () -> TagExpression.parse("java AND"));
+        assertThrows(InvalidRequest.class, () -> TagExpression.parse("(java OR kotlin"));
+        assertThrows(InvalidRequest.class, () -> TagExpression.parse("OR java"));
+        assertThrows(InvalidRequest.class, () -> TagExpression.parse(" "));
+    }
+
+    private List<Long> search(String expression) {
+        return tagIndex.search(TagExpression.parse(expression), 0, 10);
+    }
+}